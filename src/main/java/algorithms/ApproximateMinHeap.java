@@ -0,0 +1,313 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import java.util.*;
+
+
+/**
+ * Approximate min-priority queue over int keys.
+ * Keys are grouped into buckets of width 2^bucketBits, and extractMin
+ * returns any element of the lowest non-empty bucket. The extracted key is
+ * therefore at most 2^bucketBits - 1 above the true minimum. With
+ * bucketBits = 0 the order is exact.
+ *
+ * Inserting into an already open bucket and extracting from a bucket that
+ * stays non-empty are O(1). Opening or closing a bucket costs
+ * O(log b) in the heap of bucket ids, where b is the number of non-empty
+ * buckets. Insert is only amortized O(1) when keys cluster into few
+ * buckets; with widely spread keys and few elements per bucket it
+ * degrades to O(log b), like an exact heap over b keys. Buckets are found
+ * through a primitive int-keyed table and closed buckets are reused, so no
+ * boxing or allocation happens in steady state.
+ *
+ * Rank-error sampling is opt-in. When enabled, every sampleInterval-th
+ * extraction scans the current bucket to count smaller keys left behind
+ * and reports it to the PerformanceTracker, which costs O(bucket size) per
+ * sample.
+ */
+public class ApproximateMinHeap<T> {
+    private final int bucketBits;
+    private final int sampleInterval;
+    private final BucketTable buckets;
+    private final LongIntMinHeap activeBuckets; // Ids of non-empty buckets
+    private final Deque<Bucket> freeBuckets;    // Closed buckets kept for reuse
+    private final PerformanceTracker tracker;
+    private Bucket minBucket;
+    private int size;
+    private int extractsSinceSample;
+
+    /**
+     * Constructs an empty ApproximateMinHeap without rank-error sampling
+     * @param bucketBits log2 of bucket width; larger is faster and less accurate
+     */
+    public ApproximateMinHeap(int bucketBits) {
+        this(bucketBits, 0);
+    }
+
+    /**
+     * Constructs an empty ApproximateMinHeap
+     * @param bucketBits log2 of bucket width; larger is faster and less accurate
+     * @param sampleInterval extractions between rank-error samples, or 0 to disable sampling;
+     *                       each sample scans the current bucket
+     */
+    public ApproximateMinHeap(int bucketBits, int sampleInterval) {
+        if (bucketBits < 0 || bucketBits > 31) {
+            throw new IllegalArgumentException("Bucket bits must be between 0 and 31");
+        }
+        if (sampleInterval < 0) {
+            throw new IllegalArgumentException("Sample interval cannot be negative");
+        }
+
+        this.bucketBits = bucketBits;
+        this.sampleInterval = sampleInterval;
+        this.buckets = new BucketTable();
+        this.activeBuckets = new LongIntMinHeap();
+        this.freeBuckets = new ArrayDeque<>();
+        this.tracker = new PerformanceTracker();
+    }
+
+    /**
+     * Inserts value with given key.
+     * O(1) if the key's bucket is already open, otherwise O(log b) to open
+     * it, where b is the number of non-empty buckets.
+     * @param key ordering key
+     * @param value element to insert
+     * @return true if successful
+     */
+    public boolean insert(int key, T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cannot insert null element");
+        }
+
+        int id = key >> bucketBits;
+        Bucket bucket = minBucket != null && minBucket.id == id ? minBucket : buckets.get(id);
+        if (bucket == null) {
+            if (freeBuckets.isEmpty()) {
+                bucket = new Bucket();
+                tracker.incrementMemoryAllocations();
+            } else {
+                bucket = freeBuckets.pop();
+            }
+            bucket.id = id;
+            buckets.put(bucket);
+            activeBuckets.insert(id, id);
+            if (minBucket == null || id < minBucket.id) {
+                minBucket = bucket;
+            }
+        }
+
+        bucket.add(key, value);
+        size++;
+
+        return true;
+    }
+
+    /**
+     * Extracts an element whose key is within the error bound of the minimum.
+     * O(1) unless it empties its bucket, which costs O(log b) to close it;
+     * a rank-error sample adds O(bucket size).
+     * @return extracted element
+     * @throws NoSuchElementException if heap is empty
+     */
+    public T extractMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+
+        Bucket bucket = minBucket;
+        int last = bucket.size - 1;
+
+        if (sampleInterval > 0 && ++extractsSinceSample >= sampleInterval) {
+            extractsSinceSample = 0;
+            // All other buckets hold larger keys, so only this bucket can contain smaller ones
+            int key = bucket.keys[last];
+            long smaller = 0;
+            for (int i = 0; i < last; i++) {
+                if (bucket.keys[i] < key) {
+                    smaller++;
+                }
+            }
+            tracker.recordRankError(smaller);
+        }
+
+        @SuppressWarnings("unchecked")
+        T value = (T) bucket.values[last];
+        bucket.values[last] = null;
+        bucket.size = last;
+        size--;
+
+        if (bucket.size == 0) {
+            buckets.remove(bucket.id);
+            freeBuckets.push(bucket);
+            activeBuckets.extractMin();
+            minBucket = activeBuckets.isEmpty() ? null : buckets.get(activeBuckets.peek());
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the element extractMin would return, without removing it
+     * @return next element
+     * @throws NoSuchElementException if heap is empty
+     */
+    public T peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        @SuppressWarnings("unchecked")
+        T value = (T) minBucket.values[minBucket.size - 1];
+        return value;
+    }
+
+    /**
+     * Returns key of the element extractMin would return
+     * @return next key
+     * @throws NoSuchElementException if heap is empty
+     */
+    public int peekKey() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return minBucket.keys[minBucket.size - 1];
+    }
+
+    /**
+     * Returns largest possible difference between an extracted key and the true minimum
+     * @return key error bound
+     */
+    public long getKeyErrorBound() {
+        return (1L << bucketBits) - 1;
+    }
+
+    /**
+     * Returns heap size
+     * @return number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if heap is empty
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns performance metrics, including sampled rank error
+     * @return PerformanceTracker with metrics
+     */
+    public PerformanceTracker getPerformanceTracker() {
+        return tracker;
+    }
+
+    /**
+     * Resets performance metrics
+     */
+    public void resetMetrics() {
+        tracker.reset();
+    }
+
+    private static final class Bucket {
+        private int id;
+        private int[] keys = new int[8];
+        private Object[] values = new Object[8];
+        private int size;
+
+        void add(int key, Object value) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+        }
+    }
+
+    // Open-addressing map from bucket id to bucket with linear probing
+    private static final class BucketTable {
+        private int[] ids = new int[16];
+        private Bucket[] slots = new Bucket[16]; // null marks a free slot
+        private int size;
+
+        Bucket get(int id) {
+            int mask = slots.length - 1;
+            for (int i = home(id, mask); slots[i] != null; i = (i + 1) & mask) {
+                if (ids[i] == id) {
+                    return slots[i];
+                }
+            }
+            return null;
+        }
+
+        // Bucket id must not already be present
+        void put(Bucket bucket) {
+            if (2 * (size + 1) > slots.length) {
+                resize();
+            }
+            int mask = slots.length - 1;
+            int i = home(bucket.id, mask);
+            while (slots[i] != null) {
+                i = (i + 1) & mask;
+            }
+            ids[i] = bucket.id;
+            slots[i] = bucket;
+            size++;
+        }
+
+        // Bucket id must be present
+        void remove(int id) {
+            int mask = slots.length - 1;
+            int gap = home(id, mask);
+            while (ids[gap] != id || slots[gap] == null) {
+                gap = (gap + 1) & mask;
+            }
+            slots[gap] = null;
+            size--;
+
+            // Shift later entries of the probe run back, so lookups never stop early at the gap
+            for (int i = (gap + 1) & mask; slots[i] != null; i = (i + 1) & mask) {
+                if (((i - home(ids[i], mask)) & mask) >= ((i - gap) & mask)) {
+                    ids[gap] = ids[i];
+                    slots[gap] = slots[i];
+                    slots[i] = null;
+                    gap = i;
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void resize() {
+            Bucket[] old = slots;
+            ids = new int[old.length * 2];
+            slots = new Bucket[old.length * 2];
+            size = 0;
+            for (Bucket bucket : old) {
+                if (bucket != null) {
+                    put(bucket);
+                }
+            }
+        }
+
+        private static int home(int id, int mask) {
+            int hash = id * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ApproximateMinHeap{" +
+                "size=" + size +
+                ", bucketBits=" + bucketBits +
+                ", buckets=" + buckets.size() +
+                '}';
+    }
+}
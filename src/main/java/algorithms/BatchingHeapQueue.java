@@ -0,0 +1,228 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Multi-producer, single-consumer priority queue front-end over MinHeap.
+ * Producers append to striped lock-free buffers instead of contending on
+ * one lock; the consumer drains every buffer and merges the batch into the
+ * heap with {@link MinHeap#insertAll}. Each drain takes at most what was
+ * offered to a stripe when the drain started, so producers that keep a
+ * stripe busy cannot hold the consumer in it. Blocking uses LockSupport parking
+ * rather than monitors, so a consumer on a virtual thread does not pin its
+ * carrier thread.
+ *
+ * insert may be called from any thread. take, poll, size and isEmpty are
+ * consumer operations and must be called from one thread at a time.
+ */
+public class BatchingHeapQueue<T extends Comparable<T>> {
+    private final MinHeap<T> heap;
+    private final ConcurrentLinkedQueue<T>[] buffers;
+    private final AtomicLong[] offered; // Per stripe, counted before each offer
+    private final long[] drained;       // Per stripe, consumer only
+    private final int stripeMask;
+    private final List<T> batch;
+    private volatile Thread waitingConsumer;
+
+    /**
+     * Constructs an empty queue with two buffer stripes per available processor
+     */
+    public BatchingHeapQueue() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Constructs an empty queue
+     * @param stripes number of producer buffers, rounded up to a power of two
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BatchingHeapQueue(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        int count = Integer.highestOneBit(stripes);
+        if (count < stripes) {
+            count <<= 1;
+        }
+
+        // The queue never calls decreaseKey, so the consumer skips the index map
+        this.heap = new MinHeap<>(false, false);
+        this.buffers = new ConcurrentLinkedQueue[count];
+        this.offered = new AtomicLong[count];
+        for (int i = 0; i < count; i++) {
+            buffers[i] = new ConcurrentLinkedQueue<>();
+            offered[i] = new AtomicLong();
+        }
+        this.drained = new long[count];
+        this.stripeMask = count - 1;
+        this.batch = new ArrayList<>();
+    }
+
+    /**
+     * Inserts element without blocking; safe to call from any thread
+     * @param element to insert
+     * @return true if successful
+     */
+    public boolean insert(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot insert null element");
+        }
+
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        // Counted before the offer, so a drain's target covers every completed insert
+        offered[stripe].incrementAndGet();
+        buffers[stripe].offer(element);
+
+        // Published after the offer, so a consumer that registered before
+        // re-checking the buffers is always woken
+        Thread waiter = waitingConsumer;
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+
+        return true;
+    }
+
+    /**
+     * Extracts minimum element if one is available
+     * @return minimum element, or null if queue is empty
+     */
+    public T poll() {
+        drain();
+        return heap.isEmpty() ? null : heap.extractMin();
+    }
+
+    /**
+     * Extracts minimum element, waiting until one is available
+     * @return minimum element
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        while (true) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            T element = poll();
+            if (element != null) {
+                return element;
+            }
+
+            waitingConsumer = Thread.currentThread();
+            try {
+                element = poll();
+                if (element != null) {
+                    return element;
+                }
+                LockSupport.park(this);
+            } finally {
+                waitingConsumer = null;
+            }
+        }
+    }
+
+    /**
+     * Extracts minimum element, waiting up to the given time for one
+     * @param timeout maximum time to wait
+     * @param unit unit of timeout
+     * @return minimum element, or null if the timeout elapsed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        while (true) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            T element = poll();
+            if (element != null) {
+                return element;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+
+            waitingConsumer = Thread.currentThread();
+            try {
+                element = poll();
+                if (element != null) {
+                    return element;
+                }
+                LockSupport.parkNanos(this, remaining);
+            } finally {
+                waitingConsumer = null;
+            }
+        }
+    }
+
+    /**
+     * Returns number of elements, including ones still buffered
+     * @return number of elements
+     */
+    public int size() {
+        drain();
+        return heap.size();
+    }
+
+    /**
+     * Checks if queue is empty, including producer buffers
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        drain();
+        return heap.isEmpty();
+    }
+
+    /**
+     * Returns performance metrics of the underlying heap
+     * @return PerformanceTracker with metrics
+     */
+    public PerformanceTracker getPerformanceTracker() {
+        return heap.getPerformanceTracker();
+    }
+
+    /**
+     * Resets performance metrics
+     */
+    public void resetMetrics() {
+        heap.resetMetrics();
+    }
+
+    // Private helper methods
+
+    private void drain() {
+        for (int i = 0; i < buffers.length; i++) {
+            // Every element in the buffer now was counted first, so stopping at
+            // this target still takes all of them but nothing offered later
+            long target = offered[i].get();
+            T element;
+            while (drained[i] < target && (element = buffers[i].poll()) != null) {
+                batch.add(element);
+                drained[i]++;
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            heap.insertAll(batch);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BatchingHeapQueue{" +
+                "stripes=" + buffers.length +
+                ", heapSize=" + heap.size() +
+                '}';
+    }
+}
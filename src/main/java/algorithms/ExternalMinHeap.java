@@ -0,0 +1,494 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+
+/**
+ * Out-of-core min-heap for inputs larger than memory.
+ * Elements go into a bounded in-memory MinHeap; when it fills, its contents
+ * are written in sorted order as a run file. extractMin merges the buffer
+ * with the heads of all runs, each read through a fixed-size read-ahead
+ * block. Memory use is bounded by bufferCapacity elements plus
+ * maxRuns * blockSize bytes. When maxRuns is reached, the smallest half of
+ * the runs is merged into one, so run sizes grow geometrically and each
+ * element is rewritten O(log runs) times rather than on every compaction.
+ */
+public class ExternalMinHeap<T extends Comparable<T>> implements Closeable {
+
+    /**
+     * Fixed-size binary encoding of elements in run files
+     */
+    public interface Codec<T> {
+        int recordSize();
+
+        void write(T element, ByteBuffer buffer);
+
+        T read(ByteBuffer buffer);
+    }
+
+    public static final Codec<Integer> INTEGER_CODEC = new Codec<Integer>() {
+        @Override
+        public int recordSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(Integer element, ByteBuffer buffer) {
+            buffer.putInt(element);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    private static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    private static final int DEFAULT_MAX_RUNS = 64;
+
+    private final Codec<T> codec;
+    private final MinHeap<T> buffer;
+    private final int bufferCapacity;
+    private final MinHeap<Run<T>> runs; // Ordered by current head element
+    private final List<Run<T>> openRuns;
+    private final Path directory;
+    private final int blockSize;
+    private final int maxRuns;
+    private final int mergeFanIn;
+    private final ByteBuffer writeBlock;
+    private final Deque<ByteBuffer> freeBlocks; // Read-ahead blocks of exhausted runs, reused by new runs
+    private long size;
+    private long spilledRuns;
+    private long bytesWritten;
+    private long bytesRead;
+
+    /**
+     * Constructs an empty ExternalMinHeap spilling to the system temp directory
+     * @param codec element encoding
+     * @param bufferCapacity maximum number of elements held in memory
+     */
+    public ExternalMinHeap(Codec<T> codec, int bufferCapacity) {
+        this(codec, bufferCapacity, Paths.get(System.getProperty("java.io.tmpdir")),
+                DEFAULT_BLOCK_SIZE, DEFAULT_MAX_RUNS);
+    }
+
+    /**
+     * Constructs an empty ExternalMinHeap
+     * @param codec element encoding
+     * @param bufferCapacity maximum number of elements held in memory
+     * @param directory where run files are created
+     * @param blockSize bytes of write buffer and of read-ahead per run
+     * @param maxRuns number of runs kept open before they are compacted
+     */
+    public ExternalMinHeap(Codec<T> codec, int bufferCapacity, Path directory, int blockSize, int maxRuns) {
+        if (codec == null || directory == null) {
+            throw new IllegalArgumentException("Codec and directory cannot be null");
+        }
+        if (bufferCapacity < 1 || maxRuns < 2) {
+            throw new IllegalArgumentException("Buffer capacity must be positive and maxRuns at least 2");
+        }
+        if (blockSize < codec.recordSize()) {
+            throw new IllegalArgumentException("Block size must hold at least one record");
+        }
+
+        this.codec = codec;
+        // Neither heap uses decreaseKey, so both skip the index map
+        this.buffer = new MinHeap<>(false, false);
+        this.bufferCapacity = bufferCapacity;
+        this.runs = new MinHeap<>(false, false);
+        this.openRuns = new ArrayList<>();
+        this.directory = directory;
+        // Whole records per block, so a record never straddles a refill
+        this.blockSize = blockSize - blockSize % codec.recordSize();
+        this.maxRuns = maxRuns;
+        this.mergeFanIn = Math.max(2, maxRuns / 2);
+        this.writeBlock = ByteBuffer.allocateDirect(this.blockSize);
+        this.freeBlocks = new ArrayDeque<>();
+    }
+
+    /**
+     * Inserts element, spilling the in-memory buffer to disk when full.
+     * If spilling fails, the element is not inserted and the heap keeps
+     * every element it held before the call.
+     * @param element to insert
+     * @return true if successful
+     * @throws UncheckedIOException if a run file cannot be written
+     */
+    public boolean insert(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Cannot insert null element");
+        }
+
+        if (buffer.size() == bufferCapacity) {
+            spill();
+        }
+        buffer.insert(element);
+        size++;
+
+        return true;
+    }
+
+    /**
+     * Extracts and removes minimum element
+     * @return minimum element
+     * @throws NoSuchElementException if heap is empty
+     * @throws UncheckedIOException if a run file cannot be read
+     */
+    public T extractMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+
+        size--;
+        if (runs.isEmpty() || (!buffer.isEmpty() && buffer.peek().compareTo(runs.peek().head) <= 0)) {
+            return buffer.extractMin();
+        }
+
+        Run<T> run = runs.extractMin();
+        T min = run.head;
+        if (advance(run)) {
+            runs.insert(run);
+        } else {
+            closeRun(run);
+        }
+        return min;
+    }
+
+    /**
+     * Returns minimum element without removing
+     * @return minimum element
+     * @throws NoSuchElementException if heap is empty
+     */
+    public T peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+
+        if (runs.isEmpty() || (!buffer.isEmpty() && buffer.peek().compareTo(runs.peek().head) <= 0)) {
+            return buffer.peek();
+        }
+        return runs.peek().head;
+    }
+
+    /**
+     * Returns heap size, including spilled elements
+     * @return number of elements
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Checks if heap is empty
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns number of runs written so far, including compactions
+     * @return spilled run count
+     */
+    public long getSpilledRuns() {
+        return spilledRuns;
+    }
+
+    /**
+     * Returns bytes written to run files
+     * @return bytes written
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Returns bytes read from run files
+     * @return bytes read
+     */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * Returns performance metrics of the in-memory buffer
+     * @return PerformanceTracker with metrics
+     */
+    public PerformanceTracker getPerformanceTracker() {
+        return buffer.getPerformanceTracker();
+    }
+
+    /**
+     * Resets performance metrics
+     */
+    public void resetMetrics() {
+        buffer.resetMetrics();
+        bytesWritten = 0;
+        bytesRead = 0;
+    }
+
+    /**
+     * Discards all elements and deletes the remaining run files
+     */
+    @Override
+    public void close() {
+        IOException failure = null;
+        for (Run<T> run : openRuns) {
+            try {
+                run.channel.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+            releaseBlock(run);
+        }
+        openRuns.clear();
+        while (!runs.isEmpty()) {
+            runs.extractMin();
+        }
+        while (!buffer.isEmpty()) {
+            buffer.extractMin();
+        }
+        size = 0;
+
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+    }
+
+    // Private helper methods
+
+    private void spill() {
+        if (runs.size() >= maxRuns) {
+            compact();
+        }
+
+        Path file = createRunFile();
+        List<T> sorted = buffer.drainSorted();
+        try {
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                for (T element : sorted) {
+                    writeRecord(out, element);
+                }
+                flush(out);
+            }
+            openRun(file);
+        } catch (IOException | RuntimeException e) {
+            // Nothing was spilled: keep the elements in memory and drop the partial file
+            writeBlock.clear();
+            deleteRunFile(file, e);
+            buffer.insertAll(sorted);
+            throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+        }
+    }
+
+    private void compact() {
+        Path file = createRunFile();
+
+        // Merge the runs with the fewest records left; merging all of them
+        // would rewrite every spilled element on each compaction
+        List<Run<T>> candidates = new ArrayList<>(runs.size());
+        while (!runs.isEmpty()) {
+            candidates.add(runs.extractMin());
+        }
+        candidates.sort(Comparator.comparingLong(run -> run.remaining));
+
+        List<Run<T>> sources = new ArrayList<>(mergeFanIn);
+        MinHeap<Run<T>> merging = new MinHeap<>(false, false);
+        for (int i = 0; i < candidates.size(); i++) {
+            Run<T> run = candidates.get(i);
+            if (i < mergeFanIn) {
+                run.mark();
+                sources.add(run);
+                merging.insert(run);
+            } else {
+                runs.insert(run);
+            }
+        }
+
+        try {
+            try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                while (!merging.isEmpty()) {
+                    Run<T> run = merging.extractMin();
+                    writeRecord(out, run.head);
+                    // Exhausted sources stay open until the merged run is in place
+                    if (advance(run)) {
+                        merging.insert(run);
+                    }
+                }
+                flush(out);
+            }
+            openRun(file);
+        } catch (IOException | RuntimeException e) {
+            // Rewind the sources to where the merge started, so no element is lost
+            writeBlock.clear();
+            deleteRunFile(file, e);
+            for (Run<T> run : sources) {
+                try {
+                    run.reset();
+                    runs.insert(run);
+                } catch (IOException resetFailure) {
+                    e.addSuppressed(resetFailure);
+                }
+            }
+            throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+        }
+
+        for (Run<T> run : sources) {
+            closeRun(run);
+        }
+    }
+
+    private Path createRunFile() {
+        try {
+            return Files.createTempFile(directory, "heap-run-", ".bin");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteRunFile(Path file, Exception cause) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private void writeRecord(FileChannel out, T element) throws IOException {
+        if (writeBlock.remaining() < codec.recordSize()) {
+            flush(out);
+        }
+        codec.write(element, writeBlock);
+    }
+
+    private void flush(FileChannel out) throws IOException {
+        writeBlock.flip();
+        while (writeBlock.hasRemaining()) {
+            bytesWritten += out.write(writeBlock);
+        }
+        writeBlock.clear();
+    }
+
+    private void openRun(Path file) throws IOException {
+        // The file is removed as soon as the run is exhausted or the heap is closed
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE);
+        ByteBuffer block = freeBlocks.isEmpty() ? ByteBuffer.allocateDirect(blockSize) : freeBlocks.pop();
+        Run<T> run = new Run<>(channel, block, channel.size() / codec.recordSize());
+        run.block.flip();
+
+        boolean hasHead;
+        try {
+            hasHead = advance(run);
+        } catch (RuntimeException e) {
+            channel.close();
+            releaseBlock(run);
+            throw e;
+        }
+
+        spilledRuns++;
+        openRuns.add(run);
+        if (hasHead) {
+            runs.insert(run);
+        } else {
+            closeRun(run);
+        }
+    }
+
+    // Reads the next record into head; returns false, leaving the run open, once it is exhausted
+    private boolean advance(Run<T> run) {
+        try {
+            if (run.block.remaining() < codec.recordSize()) {
+                run.block.compact();
+                int read;
+                while (run.block.hasRemaining() && (read = run.channel.read(run.block)) >= 0) {
+                    bytesRead += read;
+                }
+                run.block.flip();
+            }
+
+            if (run.block.remaining() < codec.recordSize()) {
+                run.head = null;
+                return false;
+            }
+
+            run.head = codec.read(run.block);
+            run.remaining--;
+            run.offset += codec.recordSize();
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeRun(Run<T> run) {
+        openRuns.remove(run);
+        releaseBlock(run);
+        try {
+            run.channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void releaseBlock(Run<T> run) {
+        run.block.clear();
+        freeBlocks.push(run.block);
+    }
+
+    private static final class Run<T extends Comparable<T>> implements Comparable<Run<T>> {
+        private final FileChannel channel;
+        private final ByteBuffer block; // Read-ahead window over the run file
+        private long remaining;          // Records not yet read into head
+        private long offset;             // File offset just past head
+        private T head;
+        private long markedRemaining;
+        private long markedOffset;
+        private T markedHead;
+
+        Run(FileChannel channel, ByteBuffer block, long remaining) {
+            this.channel = channel;
+            this.block = block;
+            this.remaining = remaining;
+        }
+
+        void mark() {
+            markedRemaining = remaining;
+            markedOffset = offset;
+            markedHead = head;
+        }
+
+        // Returns to the marked record; the read-ahead block refills from there
+        void reset() throws IOException {
+            channel.position(markedOffset);
+            block.clear();
+            block.flip();
+            remaining = markedRemaining;
+            offset = markedOffset;
+            head = markedHead;
+        }
+
+        @Override
+        public int compareTo(Run<T> other) {
+            return head.compareTo(other.head);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ExternalMinHeap{" +
+                "size=" + size +
+                ", buffered=" + buffer.size() +
+                ", runs=" + runs.size() +
+                '}';
+    }
+}
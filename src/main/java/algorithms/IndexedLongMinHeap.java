@@ -0,0 +1,246 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import java.util.*;
+
+
+/**
+ * Indexed min-heap of items 0..capacity-1 with long keys.
+ * A position array maps each item to its heap slot, so decreaseKey finds
+ * the item in O(1) regardless of how many items share a key. This is the
+ * decrease-key queue for graph algorithms, where items are vertex ids.
+ */
+public class IndexedLongMinHeap {
+    private final int[] heap;      // Heap slot -> item
+    private final int[] positions; // Item -> heap slot, or -1 if absent
+    private final long[] keys;     // Item -> key
+    private int size;
+    private final PerformanceTracker tracker;
+
+    /**
+     * Constructs an empty IndexedLongMinHeap
+     * @param capacity number of distinct items, ids 0..capacity-1
+     */
+    public IndexedLongMinHeap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new long[capacity];
+        Arrays.fill(positions, -1);
+        this.tracker = new PerformanceTracker();
+    }
+
+    /**
+     * Inserts item with given key
+     * @param item id in 0..capacity-1
+     * @param key ordering key
+     * @return true if successful
+     * @throws IllegalArgumentException if item is out of range or already present
+     */
+    public boolean insert(int item, long key) {
+        checkItem(item);
+        if (positions[item] != -1) {
+            throw new IllegalArgumentException("Item already in heap: " + item);
+        }
+
+        keys[item] = key;
+        heap[size] = item;
+        positions[item] = size;
+        heapifyUp(size++);
+
+        return true;
+    }
+
+    /**
+     * Lowers the key of an item already in the heap
+     * @param item id in 0..capacity-1
+     * @param newKey new key, not larger than the current key
+     * @return true if successful, false if item is not in the heap
+     * @throws IllegalArgumentException if newKey is larger than the current key
+     */
+    public boolean decreaseKey(int item, long newKey) {
+        checkItem(item);
+        if (positions[item] == -1) {
+            return false;
+        }
+        if (newKey > keys[item]) {
+            throw new IllegalArgumentException("New key must be smaller than current");
+        }
+
+        keys[item] = newKey;
+        heapifyUp(positions[item]);
+
+        return true;
+    }
+
+    /**
+     * Extracts item with minimum key
+     * @return item id
+     * @throws NoSuchElementException if heap is empty
+     */
+    public int extractMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+
+        int min = heap[0];
+        positions[min] = -1;
+        size--;
+
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            heapifyDown(0);
+        }
+
+        return min;
+    }
+
+    /**
+     * Returns item with minimum key without removing
+     * @return item id
+     * @throws NoSuchElementException if heap is empty
+     */
+    public int peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    /**
+     * Returns minimum key without removing
+     * @return minimum key
+     * @throws NoSuchElementException if heap is empty
+     */
+    public long peekKey() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return keys[heap[0]];
+    }
+
+    /**
+     * Checks if item is in the heap
+     * @param item id in 0..capacity-1
+     * @return true if present
+     */
+    public boolean contains(int item) {
+        checkItem(item);
+        return positions[item] != -1;
+    }
+
+    /**
+     * Returns current key of an item in the heap
+     * @param item id in 0..capacity-1
+     * @return key
+     * @throws NoSuchElementException if item is not in the heap
+     */
+    public long keyOf(int item) {
+        if (!contains(item)) {
+            throw new NoSuchElementException("Item not in heap: " + item);
+        }
+        return keys[item];
+    }
+
+    /**
+     * Returns heap size
+     * @return number of items
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if heap is empty
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns performance metrics
+     * @return PerformanceTracker with metrics
+     */
+    public PerformanceTracker getPerformanceTracker() {
+        return tracker;
+    }
+
+    /**
+     * Resets performance metrics
+     */
+    public void resetMetrics() {
+        tracker.reset();
+    }
+
+    // Private helper methods
+
+    private void checkItem(int item) {
+        if (item < 0 || item >= positions.length) {
+            throw new IllegalArgumentException("Item out of range: " + item);
+        }
+    }
+
+    private void heapifyUp(int index) {
+        int item = heap[index];
+        long key = keys[item];
+
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+
+            tracker.incrementComparisons();
+            if (key >= keys[heap[parent]]) {
+                break;
+            }
+
+            tracker.incrementSwaps();
+            heap[index] = heap[parent];
+            positions[heap[index]] = index;
+            index = parent;
+        }
+
+        heap[index] = item;
+        positions[item] = index;
+    }
+
+    private void heapifyDown(int index) {
+        int item = heap[index];
+        long key = keys[item];
+
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+
+            tracker.incrementComparisons();
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+
+            tracker.incrementComparisons();
+            if (key <= keys[heap[child]]) {
+                break;
+            }
+
+            tracker.incrementSwaps();
+            heap[index] = heap[child];
+            positions[heap[index]] = index;
+            index = child;
+        }
+
+        heap[index] = item;
+        positions[item] = index;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexedLongMinHeap{" +
+                "size=" + size +
+                ", capacity=" + positions.length +
+                '}';
+    }
+}
@@ -0,0 +1,197 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import java.util.*;
+
+
+/**
+ * Min-heap of (long key, int value) pairs in parallel primitive arrays.
+ * Duplicate values are allowed, which makes it the queue for lazy-insertion
+ * graph algorithms: instead of decreasing a key, a new pair is inserted and
+ * stale pairs are skipped when extracted.
+ */
+public class LongIntMinHeap {
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private final PerformanceTracker tracker;
+
+    /**
+     * Constructs an empty LongIntMinHeap
+     */
+    public LongIntMinHeap() {
+        this(16);
+    }
+
+    /**
+     * Constructs an empty LongIntMinHeap
+     * @param initialCapacity initial number of slots
+     */
+    public LongIntMinHeap(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.keys = new long[initialCapacity];
+        this.values = new int[initialCapacity];
+        this.tracker = new PerformanceTracker();
+    }
+
+    /**
+     * Inserts value with given key
+     * @param key ordering key
+     * @param value payload
+     * @return true if successful
+     */
+    public boolean insert(long key, int value) {
+        if (size == keys.length) {
+            int capacity = keys.length * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+            tracker.incrementResizes();
+        }
+
+        keys[size] = key;
+        values[size] = value;
+        heapifyUp(size++);
+
+        return true;
+    }
+
+    /**
+     * Extracts value with minimum key
+     * @return value of minimum pair
+     * @throws NoSuchElementException if heap is empty
+     */
+    public int extractMin() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+
+        int min = values[0];
+        size--;
+        keys[0] = keys[size];
+        values[0] = values[size];
+
+        if (size > 0) {
+            heapifyDown(0);
+        }
+
+        return min;
+    }
+
+    /**
+     * Returns value of minimum pair without removing
+     * @return value of minimum pair
+     * @throws NoSuchElementException if heap is empty
+     */
+    public int peek() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return values[0];
+    }
+
+    /**
+     * Returns minimum key without removing
+     * @return minimum key
+     * @throws NoSuchElementException if heap is empty
+     */
+    public long peekKey() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return keys[0];
+    }
+
+    /**
+     * Returns heap size
+     * @return number of pairs
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if heap is empty
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns performance metrics
+     * @return PerformanceTracker with metrics
+     */
+    public PerformanceTracker getPerformanceTracker() {
+        return tracker;
+    }
+
+    /**
+     * Resets performance metrics
+     */
+    public void resetMetrics() {
+        tracker.reset();
+    }
+
+    // Private helper methods
+
+    private void heapifyUp(int index) {
+        long key = keys[index];
+        int value = values[index];
+
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+
+            tracker.incrementComparisons();
+            if (key >= keys[parent]) {
+                break;
+            }
+
+            tracker.incrementSwaps();
+            keys[index] = keys[parent];
+            values[index] = values[parent];
+            index = parent;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    private void heapifyDown(int index) {
+        long key = keys[index];
+        int value = values[index];
+
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+
+            tracker.incrementComparisons();
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+
+            tracker.incrementComparisons();
+            if (key <= keys[child]) {
+                break;
+            }
+
+            tracker.incrementSwaps();
+            keys[index] = keys[child];
+            values[index] = values[child];
+            index = child;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    @Override
+    public String toString() {
+        return "LongIntMinHeap{" +
+                "size=" + size +
+                '}';
+    }
+}
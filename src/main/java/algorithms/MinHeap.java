@@ -5,17 +5,46 @@ import java.util.*;
 
 
 public class MinHeap<T extends Comparable<T>> {
-    private final List<T> heap;
-    private final Map<T, Integer> indexMap; // For O(1) decrease-key lookup
+    private final ArrayList<T> heap;
+    private final Map<T, Slot> indexMap; // Positions of every copy of a value, for O(1) decrease-key; null if unindexed
+    private Slot[] indexSlots;  // Heap slot -> index entry of the element stored there
+    private int[] slotOffsets;  // Heap slot -> where that slot is listed in its entry's positions
     private final PerformanceTracker tracker;
+    private final boolean stable;
+    private long[] sequence; // Insertion order of heap slots, only used in stable mode
+    private long nextSequence;
+    private int capacity; // Allocated slots of the backing list, tracked to count resizes
 
     /**
      * Constructs an empty MinHeap
      */
     public MinHeap() {
-        this.heap = new ArrayList<>();
-        this.indexMap = new HashMap<>();
+        this(false);
+    }
+
+    /**
+     * Constructs an empty MinHeap
+     * @param stable if true, equal elements are extracted in insertion (FIFO) order
+     */
+    public MinHeap(boolean stable) {
+        this(stable, true);
+    }
+
+    /**
+     * Constructs an empty MinHeap
+     * @param stable if true, equal elements are extracted in insertion (FIFO) order
+     * @param indexed if false, no value-to-index map is kept: inserts and
+     *                extractions skip the hashing, and decreaseKey is unsupported
+     */
+    public MinHeap(boolean stable, boolean indexed) {
+        this.capacity = 16;
+        this.heap = new ArrayList<>(capacity);
+        this.indexMap = indexed ? new HashMap<>() : null;
+        this.indexSlots = indexed ? new Slot[capacity] : null;
+        this.slotOffsets = indexed ? new int[capacity] : null;
         this.tracker = new PerformanceTracker();
+        this.stable = stable;
+        this.sequence = stable ? new long[capacity] : null;
     }
 
     /**
@@ -24,8 +53,17 @@ public class MinHeap<T extends Comparable<T>> {
      */
     public MinHeap(T[] array) {
         this.heap = new ArrayList<>(Arrays.asList(array));
+        this.capacity = array.length;
         this.indexMap = new HashMap<>();
+        this.indexSlots = new Slot[capacity];
+        this.slotOffsets = new int[capacity];
         this.tracker = new PerformanceTracker();
+        this.stable = false;
+        this.sequence = null;
+
+        for (int i = 0; i < heap.size(); i++) {
+            addToIndex(heap.get(i), i);
+        }
 
         // Build heap in O(n) time using bottom-up approach
         buildHeap();
@@ -41,10 +79,59 @@ public class MinHeap<T extends Comparable<T>> {
             throw new IllegalArgumentException("Cannot insert null element");
         }
 
+        long start = tracker.startOperation();
+
+        ensureCapacity(heap.size() + 1);
         heap.add(element);
-        indexMap.put(element, heap.size() - 1);
-        heapifyUp(heap.size() - 1);
+        addToIndex(element, heap.size() - 1);
+        if (stable) {
+            sequence[heap.size() - 1] = nextSequence++;
+        }
+        int depth = heapifyUp(heap.size() - 1);
+
+        tracker.recordOperation(PerformanceTracker.Operation.INSERT, depth, start, heap.size());
+        return true;
+    }
+
+    /**
+     * Inserts a batch of elements.
+     * Large batches are appended and re-heapified bottom-up in O(n + k)
+     * instead of sifting each element up individually.
+     * @param elements to insert
+     * @return true if successful
+     */
+    public boolean insertAll(Collection<? extends T> elements) {
+        if (elements == null) {
+            throw new IllegalArgumentException("Cannot insert null collection");
+        }
+        for (T element : elements) {
+            if (element == null) {
+                throw new IllegalArgumentException("Cannot insert null element");
+            }
+        }
+
+        // Sifting k elements up costs O(k log(n + k)); a rebuild wins once k is comparable to n
+        if (elements.size() < heap.size()) {
+            for (T element : elements) {
+                insert(element);
+            }
+            return true;
+        }
 
+        long start = tracker.startOperation();
+
+        ensureCapacity(heap.size() + elements.size());
+        for (T element : elements) {
+            heap.add(element);
+            addToIndex(element, heap.size() - 1);
+            if (stable) {
+                sequence[heap.size() - 1] = nextSequence++;
+            }
+        }
+        long depth = buildHeap();
+
+        // Counted as one insert per element, like the small-batch path
+        tracker.recordOperations(PerformanceTracker.Operation.INSERT, elements.size(), depth, start, heap.size());
         return true;
     }
 
@@ -58,18 +145,25 @@ public class MinHeap<T extends Comparable<T>> {
             throw new NoSuchElementException("Heap is empty");
         }
 
+        long start = tracker.startOperation();
+
         T min = heap.get(0);
         T last = heap.get(heap.size() - 1);
 
         heap.set(0, last);
         heap.remove(heap.size() - 1);
-        indexMap.remove(min);
+        removeFromIndex(min, 0);
+        if (stable) {
+            sequence[0] = sequence[heap.size()];
+        }
 
+        int depth = 0;
         if (!heap.isEmpty()) {
-            indexMap.put(last, 0);
-            heapifyDown(0);
+            moveInIndex(heap.size(), 0);
+            depth = heapifyDown(0);
         }
 
+        tracker.recordOperation(PerformanceTracker.Operation.EXTRACT_MIN, depth, start, heap.size());
         return min;
     }
 
@@ -90,6 +184,7 @@ public class MinHeap<T extends Comparable<T>> {
      * @param element to decrease
      * @param newValue new smaller value
      * @return true if successful
+     * @throws UnsupportedOperationException if the heap is unindexed
      */
     public boolean decreaseKey(T element, T newValue) {
         if (element == null || newValue == null) {
@@ -99,24 +194,33 @@ public class MinHeap<T extends Comparable<T>> {
         if (newValue.compareTo(element) > 0) {
             throw new IllegalArgumentException("New value must be smaller than current");
         }
+        if (indexMap == null) {
+            throw new UnsupportedOperationException("decreaseKey needs an indexed heap");
+        }
+
+        long start = tracker.startOperation();
 
-        Integer index = indexMap.get(element);
-        if (index == null) {
+        Slot slot = indexMap.get(element);
+        if (slot == null) {
             return false; // Element not found
         }
+        int index = slot.positions[slot.count - 1]; // Any copy will do
 
         tracker.incrementComparisons();
 
         heap.set(index, newValue);
-        indexMap.remove(element);
-        indexMap.put(newValue, index);
-        heapifyUp(index);
+        removeFromIndex(element, index);
+        addToIndex(newValue, index);
+        int depth = heapifyUp(index);
 
+        tracker.recordOperation(PerformanceTracker.Operation.DECREASE_KEY, depth, start, heap.size());
         return true;
     }
 
     /**
-     * Merges another heap into this heap
+     * Merges another heap into this heap.
+     * The result is stable if this heap is stable; elements of this heap
+     * then precede equal elements of the other heap.
      * @param other heap to merge
      * @return new merged heap
      */
@@ -125,24 +229,72 @@ public class MinHeap<T extends Comparable<T>> {
             throw new IllegalArgumentException("Cannot merge with null heap");
         }
 
+        long start = tracker.startOperation();
+
         // Create new heap with combined elements
         List<T> combined = new ArrayList<>(this.heap);
         combined.addAll(other.heap);
 
-        MinHeap<T> merged = new MinHeap<>();
+        MinHeap<T> merged = new MinHeap<>(stable, indexMap != null);
+        merged.ensureCapacity(combined.size());
         merged.heap.addAll(combined);
 
+        if (stable) {
+            for (int i = 0; i < this.heap.size(); i++) {
+                merged.sequence[i] = this.sequence[i];
+            }
+            for (int i = 0; i < other.heap.size(); i++) {
+                long otherSequence = other.stable ? other.sequence[i] : i;
+                merged.sequence[this.heap.size() + i] = this.nextSequence + otherSequence;
+            }
+            merged.nextSequence = this.nextSequence + (other.stable ? other.nextSequence : other.heap.size());
+        }
+
         // Rebuild index map
         for (int i = 0; i < merged.heap.size(); i++) {
-            merged.indexMap.put(merged.heap.get(i), i);
+            merged.addToIndex(merged.heap.get(i), i);
         }
 
         // Build heap in O(n) time
         merged.buildHeap();
 
+        tracker.recordOperation(PerformanceTracker.Operation.MERGE, 0, start, merged.size());
         return merged;
     }
 
+    /**
+     * Removes all elements and returns them in ascending order.
+     * Sorting the backing list is cheaper than extracting one at a time.
+     * Metrics count one extraction per element, with no sift depth.
+     * @return removed elements, sorted (stable heaps keep FIFO order on ties)
+     */
+    public List<T> drainSorted() {
+        long start = tracker.startOperation();
+
+        List<T> sorted = new ArrayList<>(heap);
+        if (stable) {
+            Integer[] order = new Integer[heap.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> less(a, b) ? -1 : (less(b, a) ? 1 : 0));
+            for (int i = 0; i < order.length; i++) {
+                sorted.set(i, heap.get(order[i]));
+            }
+        } else {
+            Collections.sort(sorted);
+        }
+
+        heap.clear();
+        if (indexMap != null) {
+            indexMap.clear();
+            Arrays.fill(indexSlots, null);
+        }
+
+        tracker.recordOperations(PerformanceTracker.Operation.EXTRACT_MIN, sorted.size(), 0, start, 0);
+        return sorted;
+    }
+
     /**
      * Returns heap size
      * @return number of elements
@@ -159,6 +311,22 @@ public class MinHeap<T extends Comparable<T>> {
         return heap.isEmpty();
     }
 
+    /**
+     * Returns number of allocated slots in the backing storage
+     * @return capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Checks if equal elements are extracted in insertion order
+     * @return true if stable
+     */
+    public boolean isStable() {
+        return stable;
+    }
+
     /**
      * Returns performance metrics
      * @return PerformanceTracker with metrics
@@ -176,40 +344,46 @@ public class MinHeap<T extends Comparable<T>> {
 
     // Private helper methods
 
-    private void buildHeap() {
+    private long buildHeap() {
         // Bottom-up heapify: O(n) time complexity
+        long depth = 0;
         for (int i = (heap.size() / 2) - 1; i >= 0; i--) {
-            heapifyDown(i);
+            depth += heapifyDown(i);
         }
+        return depth;
     }
 
-    private void heapifyUp(int index) {
+    private int heapifyUp(int index) {
+        int depth = 0;
         while (index > 0) {
             int parent = (index - 1) / 2;
 
             tracker.incrementComparisons();
-            if (heap.get(index).compareTo(heap.get(parent)) >= 0) {
+            if (!less(index, parent)) {
                 break;
             }
 
             swap(index, parent);
             index = parent;
+            depth++;
         }
+        return depth;
     }
 
-    private void heapifyDown(int index) {
+    private int heapifyDown(int index) {
+        int depth = 0;
         while (true) {
             int smallest = index;
             int left = 2 * index + 1;
             int right = 2 * index + 2;
 
             tracker.incrementComparisons();
-            if (left < heap.size() && heap.get(left).compareTo(heap.get(smallest)) < 0) {
+            if (left < heap.size() && less(left, smallest)) {
                 smallest = left;
             }
 
             tracker.incrementComparisons();
-            if (right < heap.size() && heap.get(right).compareTo(heap.get(smallest)) < 0) {
+            if (right < heap.size() && less(right, smallest)) {
                 smallest = right;
             }
 
@@ -219,6 +393,89 @@ public class MinHeap<T extends Comparable<T>> {
 
             swap(index, smallest);
             index = smallest;
+            depth++;
+        }
+        return depth;
+    }
+
+    private boolean less(int i, int j) {
+        int cmp = heap.get(i).compareTo(heap.get(j));
+        if (cmp == 0 && stable) {
+            // Ties are broken by insertion order
+            return sequence[i] < sequence[j];
+        }
+        return cmp < 0;
+    }
+
+    private void addToIndex(T element, int index) {
+        if (indexMap == null) {
+            return;
+        }
+        Slot slot = indexMap.get(element);
+        if (slot == null) {
+            slot = new Slot();
+            indexMap.put(element, slot);
+        }
+        indexSlots[index] = slot;
+        slotOffsets[index] = slot.add(index);
+    }
+
+    private void removeFromIndex(T element, int index) {
+        if (indexMap == null) {
+            return;
+        }
+        Slot slot = indexSlots[index];
+        int offset = slotOffsets[index];
+
+        // The last listed copy takes over the freed offset
+        int moved = slot.positions[--slot.count];
+        slot.positions[offset] = moved;
+        slotOffsets[moved] = offset;
+
+        indexSlots[index] = null;
+        if (slot.count == 0) {
+            indexMap.remove(element);
+        }
+    }
+
+    private void moveInIndex(int from, int to) {
+        if (indexMap == null) {
+            return;
+        }
+        Slot slot = indexSlots[from];
+        slot.positions[slotOffsets[from]] = to;
+        indexSlots[to] = slot;
+        slotOffsets[to] = slotOffsets[from];
+        indexSlots[from] = null;
+    }
+
+    // Heap positions of every copy of one value
+    private static final class Slot {
+        private int[] positions = new int[1];
+        private int count;
+
+        int add(int index) {
+            if (count == positions.length) {
+                positions = Arrays.copyOf(positions, count * 2);
+            }
+            positions[count] = index;
+            return count++;
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > capacity) {
+            // Same 1.5x growth policy ArrayList uses, made explicit so resizes can be counted
+            capacity = Math.max(required, capacity + (capacity >> 1));
+            heap.ensureCapacity(capacity);
+            if (indexMap != null) {
+                indexSlots = Arrays.copyOf(indexSlots, capacity);
+                slotOffsets = Arrays.copyOf(slotOffsets, capacity);
+            }
+            if (stable) {
+                sequence = Arrays.copyOf(sequence, capacity);
+            }
+            tracker.incrementResizes();
         }
     }
 
@@ -229,15 +486,33 @@ public class MinHeap<T extends Comparable<T>> {
         heap.set(i, heap.get(j));
         heap.set(j, temp);
 
-        // Update index map
-        indexMap.put(heap.get(i), i);
-        indexMap.put(heap.get(j), j);
+        if (stable) {
+            long tempSequence = sequence[i];
+            sequence[i] = sequence[j];
+            sequence[j] = tempSequence;
+        }
+
+        // Update index: both entries are reached through the slot arrays, without hashing
+        if (indexMap != null) {
+            Slot slotI = indexSlots[i];
+            Slot slotJ = indexSlots[j];
+            int offsetI = slotOffsets[i];
+            int offsetJ = slotOffsets[j];
+            slotI.positions[offsetI] = j;
+            slotJ.positions[offsetJ] = i;
+            indexSlots[i] = slotJ;
+            indexSlots[j] = slotI;
+            slotOffsets[i] = offsetJ;
+            slotOffsets[j] = offsetI;
+        }
     }
 
     @Override
     public String toString() {
         return "MinHeap{" +
                 "size=" + heap.size() +
+                (stable ? ", stable" : "") +
+                (indexMap == null ? ", unindexed" : "") +
                 ", heap=" + heap +
                 '}';
     }
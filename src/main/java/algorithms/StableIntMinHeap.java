@@ -0,0 +1,154 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import java.util.*;
+
+
+/**
+ * Stable min-heap for primitive int priorities.
+ * Equal priorities are extracted in insertion (FIFO) order. Priority and
+ * insertion sequence are packed into one long (priority in the high 32 bits,
+ * sequence in the low 32 bits) and stored in a LongIntMinHeap, so every heap
+ * comparison is a single primitive compare and no wrapper object is
+ * allocated per entry.
+ */
+public class StableIntMinHeap {
+    private static final long SEQUENCE_MASK = 0xFFFFFFFFL;
+    private static final long SEQUENCE_LIMIT = 1L << 32;
+
+    private final LongIntMinHeap heap; // Packed priority and sequence -> handle
+    private long nextSequence;
+    private final long sequenceLimit;
+
+    /**
+     * Constructs an empty StableIntMinHeap
+     */
+    public StableIntMinHeap() {
+        this(16);
+    }
+
+    /**
+     * Constructs an empty StableIntMinHeap
+     * @param initialCapacity initial number of slots
+     */
+    public StableIntMinHeap(int initialCapacity) {
+        this(initialCapacity, SEQUENCE_LIMIT);
+    }
+
+    /**
+     * Constructs an empty StableIntMinHeap that renumbers after fewer inserts,
+     * so tests can reach the renumbering path
+     * @param initialCapacity initial number of slots
+     * @param sequenceLimit number of sequences handed out before renumbering
+     */
+    StableIntMinHeap(int initialCapacity, long sequenceLimit) {
+        if (sequenceLimit < 1 || sequenceLimit > SEQUENCE_LIMIT) {
+            throw new IllegalArgumentException("Sequence limit must be in 1..2^32");
+        }
+        this.heap = new LongIntMinHeap(initialCapacity);
+        this.sequenceLimit = sequenceLimit;
+    }
+
+    /**
+     * Inserts handle with given priority
+     * @param priority ordering key
+     * @param handle payload returned on extraction
+     * @return true if successful
+     */
+    public boolean insert(int priority, int handle) {
+        if (nextSequence >= sequenceLimit) {
+            renumber();
+        }
+        return heap.insert(pack(priority, nextSequence++), handle);
+    }
+
+    /**
+     * Extracts the handle with minimum priority, oldest first among equals
+     * @return handle of minimum entry
+     * @throws NoSuchElementException if heap is empty
+     */
+    public int extractMin() {
+        return heap.extractMin();
+    }
+
+    /**
+     * Returns handle of minimum entry without removing
+     * @return handle of minimum entry
+     * @throws NoSuchElementException if heap is empty
+     */
+    public int peek() {
+        return heap.peek();
+    }
+
+    /**
+     * Returns priority of minimum entry without removing
+     * @return minimum priority
+     * @throws NoSuchElementException if heap is empty
+     */
+    public int peekPriority() {
+        return (int) (heap.peekKey() >> 32);
+    }
+
+    /**
+     * Returns heap size
+     * @return number of entries
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Checks if heap is empty
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Returns performance metrics
+     * @return PerformanceTracker with metrics
+     */
+    public PerformanceTracker getPerformanceTracker() {
+        return heap.getPerformanceTracker();
+    }
+
+    /**
+     * Resets performance metrics
+     */
+    public void resetMetrics() {
+        heap.resetMetrics();
+    }
+
+    // Private helper methods
+
+    private static long pack(int priority, long sequence) {
+        // Signed priority in the high half keeps signed long order;
+        // the unsigned sequence in the low half only breaks ties
+        return ((long) priority << 32) | (sequence & SEQUENCE_MASK);
+    }
+
+    private void renumber() {
+        // Sequence space exhausted: extracting in order and reinserting with
+        // sequences 0..size-1 preserves the relative order of live entries,
+        // and each in-order insert stops at the bottom of the heap
+        int count = heap.size();
+        int[] priorities = new int[count];
+        int[] handles = new int[count];
+        for (int i = 0; i < count; i++) {
+            priorities[i] = (int) (heap.peekKey() >> 32);
+            handles[i] = heap.extractMin();
+        }
+        for (int i = 0; i < count; i++) {
+            heap.insert(pack(priorities[i], i), handles[i]);
+        }
+        nextSequence = count;
+    }
+
+    @Override
+    public String toString() {
+        return "StableIntMinHeap{" +
+                "size=" + heap.size() +
+                '}';
+    }
+}
@@ -1,8 +1,19 @@
 package cli;
 
+import algorithms.ApproximateMinHeap;
+import algorithms.BatchingHeapQueue;
+import algorithms.ExternalMinHeap;
+import algorithms.LongIntMinHeap;
 import algorithms.MinHeap;
+import algorithms.StableIntMinHeap;
+import graph.CsrGraph;
+import graph.GraphGenerator;
+import graph.QueueStrategy;
+import graph.ShortestPaths;
+import graph.SpanningTree;
 import metrics.PerformanceTracker;
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
 
 
 public class BenchmarkRunner {
@@ -28,6 +39,24 @@ public class BenchmarkRunner {
             case "merge":
                 benchmarkMerge(getSize(args));
                 break;
+            case "stable":
+                benchmarkStable(getSize(args));
+                break;
+            case "concurrent":
+                benchmarkConcurrent(getSize(args), getProducers(args));
+                break;
+            case "external":
+                benchmarkExternal(getSize(args));
+                break;
+            case "metrics":
+                benchmarkMetricsOverhead(getSize(args));
+                break;
+            case "approx":
+                benchmarkApproximate(getSize(args));
+                break;
+            case "graph":
+                benchmarkGraph(getSize(args));
+                break;
             case "all":
                 runAllBenchmarks();
                 break;
@@ -149,6 +178,373 @@ public class BenchmarkRunner {
         System.out.println("Execution Time: " + tracker.getExecutionTimeMillis() + " ms");
     }
 
+    private static void benchmarkStable(int size) {
+        System.out.println("=== Stable Ordering Benchmark (n=" + size + ") ===");
+
+        // Same duplicate-heavy distribution as the other benchmarks
+        Random random = new Random(42);
+        int[] priorities = new int[size];
+        for (int i = 0; i < size; i++) {
+            priorities[i] = random.nextInt(1000);
+        }
+
+        MinHeap<Integer> unstable = new MinHeap<>();
+        long start = System.nanoTime();
+        for (int priority : priorities) {
+            unstable.insert(priority);
+        }
+        while (!unstable.isEmpty()) {
+            unstable.extractMin();
+        }
+        double unstableMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        MinHeap<Integer> stable = new MinHeap<>(true);
+        start = System.nanoTime();
+        for (int priority : priorities) {
+            stable.insert(priority);
+        }
+        while (!stable.isEmpty()) {
+            stable.extractMin();
+        }
+        double stableMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        MinHeap<SequencedEntry> wrapped = new MinHeap<>();
+        start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            wrapped.insert(new SequencedEntry(priorities[i], i));
+        }
+        while (!wrapped.isEmpty()) {
+            wrapped.extractMin();
+        }
+        double wrappedMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        StableIntMinHeap packed = new StableIntMinHeap();
+        start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            packed.insert(priorities[i], i);
+        }
+        while (!packed.isEmpty()) {
+            packed.extractMin();
+        }
+        double packedMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        System.out.println("Unstable MinHeap: " + unstableMillis + " ms");
+        System.out.println("Stable MinHeap: " + stableMillis + " ms" +
+                String.format(" (%.2fx unstable)", stableMillis / unstableMillis));
+        System.out.println("Sequence Wrapper MinHeap: " + wrappedMillis + " ms" +
+                String.format(" (%.2fx unstable)", wrappedMillis / unstableMillis));
+        System.out.println("Packed StableIntMinHeap: " + packedMillis + " ms" +
+                String.format(" (%.2fx unstable)", packedMillis / unstableMillis));
+    }
+
+    // Per-entry sequence wrapper, the pattern stable mode replaces
+    private static final class SequencedEntry implements Comparable<SequencedEntry> {
+        private final int priority;
+        private final long sequence;
+
+        SequencedEntry(int priority, long sequence) {
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(SequencedEntry other) {
+            int cmp = Integer.compare(priority, other.priority);
+            return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static void benchmarkConcurrent(int size, int maxProducers) {
+        System.out.println("=== Concurrent Producer Benchmark (n=" + size + ") ===");
+
+        List<Integer> producerCounts = new ArrayList<>();
+        for (int producers = 1; producers < maxProducers; producers *= 2) {
+            producerCounts.add(producers);
+        }
+        producerCounts.add(maxProducers);
+
+        for (int producers : producerCounts) {
+            int[][] values = new int[producers][];
+            for (int p = 0; p < producers; p++) {
+                Random random = new Random(42 + p);
+                values[p] = new int[size / producers];
+                for (int i = 0; i < values[p].length; i++) {
+                    values[p][i] = random.nextInt(1000);
+                }
+            }
+            int total = (size / producers) * producers;
+
+            if (producers == producerCounts.get(0)) {
+                // Warm up once so both queues are measured with compiled code
+                runLocked(values, total);
+                runBatched(values, total);
+            }
+            double[] lockedMillis = runLocked(values, total);
+            double[] batchedMillis = runBatched(values, total);
+
+            System.out.println("Producers: " + producers);
+            printConcurrentResult("Locked MinHeap", lockedMillis, total);
+            printConcurrentResult("BatchingHeapQueue", batchedMillis, total);
+        }
+    }
+
+    private static double[] runLocked(int[][] values, int total) {
+        // Baseline: every producer and the consumer share one lock around MinHeap
+        MinHeap<Integer> locked = new MinHeap<>();
+        return runProducers(values, value -> {
+            synchronized (locked) {
+                locked.insert(value);
+                locked.notify();
+            }
+        }, () -> {
+            synchronized (locked) {
+                while (locked.isEmpty()) {
+                    locked.wait();
+                }
+                locked.extractMin();
+            }
+        }, total);
+    }
+
+    private static double[] runBatched(int[][] values, int total) {
+        BatchingHeapQueue<Integer> queue = new BatchingHeapQueue<>();
+        return runProducers(values, queue::insert, queue::take, total);
+    }
+
+    private static void printConcurrentResult(String name, double[] millis, int total) {
+        System.out.println("  " + name + ":");
+        System.out.println("    Producers Done: " + millis[0] + " ms" +
+                String.format(" (%.0f inserts/sec)", total / (millis[0] / 1000.0)));
+        System.out.println("    Consumer Done: " + millis[1] + " ms" +
+                String.format(" (%.0f extracts/sec)", total / (millis[1] / 1000.0)));
+    }
+
+    private interface Producer {
+        void accept(int value) throws InterruptedException;
+    }
+
+    private interface Consumer {
+        void take() throws InterruptedException;
+    }
+
+    // Returns elapsed milliseconds until all producers finished and until the consumer finished
+    private static double[] runProducers(int[][] values, Producer producer, Consumer consumer, int total) {
+        Thread[] threads = new Thread[values.length];
+        long[] finished = new long[values.length];
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < values.length; p++) {
+            int[] own = values[p];
+            int id = p;
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int value : own) {
+                        producer.accept(value);
+                    }
+                    finished[id] = System.nanoTime();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[p].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        try {
+            // Single consumer drains everything the producers submit
+            for (int i = 0; i < total; i++) {
+                consumer.take();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long end = System.nanoTime();
+
+        long producersEnd = begin;
+        for (long time : finished) {
+            producersEnd = Math.max(producersEnd, time);
+        }
+        return new double[] {(producersEnd - begin) / 1_000_000.0, (end - begin) / 1_000_000.0};
+    }
+
+    private static void benchmarkExternal(int size) {
+        // In-memory budget is a tenth of the input, so 90% of it goes through run files
+        int bufferCapacity = Math.max(1, size / 10);
+        System.out.println("=== External MinHeap Benchmark (n=" + size +
+                ", buffer=" + bufferCapacity + ") ===");
+
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        long checksum = 0;
+        long spilledRuns;
+        long bytesMoved;
+
+        try (ExternalMinHeap<Integer> heap = new ExternalMinHeap<>(ExternalMinHeap.INTEGER_CODEC, bufferCapacity)) {
+            for (int i = 0; i < size; i++) {
+                heap.insert(random.nextInt());
+            }
+
+            int previous = Integer.MIN_VALUE;
+            while (!heap.isEmpty()) {
+                int value = heap.extractMin();
+                if (value < previous) {
+                    throw new IllegalStateException("External heap returned elements out of order");
+                }
+                previous = value;
+                checksum += value;
+            }
+
+            spilledRuns = heap.getSpilledRuns();
+            bytesMoved = heap.getBytesWritten() + heap.getBytesRead();
+        }
+
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        System.out.println("Spilled Runs: " + spilledRuns);
+        System.out.println("Disk Traffic: " + (bytesMoved / (1024 * 1024)) + " MB");
+        System.out.println("Execution Time: " + millis + " ms");
+        System.out.println(String.format("Throughput: %.0f elements/sec, %.1f MB/s disk",
+                size / (millis / 1000.0), bytesMoved / (1024.0 * 1024.0) / (millis / 1000.0)));
+        System.out.println("Checksum: " + checksum);
+    }
+
+    private static void benchmarkMetricsOverhead(int size) {
+        System.out.println("=== Metrics Overhead Benchmark (n=" + size + ") ===");
+
+        Random random = new Random(42);
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(1000);
+        }
+
+        // Warm up every configuration before measuring
+        for (int round = 0; round < 3; round++) {
+            runTrackedHeap(values, false, -1);
+            runTrackedHeap(values, true, -1);
+            runTrackedHeap(values, true, 1_000_000);
+        }
+
+        System.out.println("Tracker Disabled: " + runTrackedHeap(values, false, -1) + " ms");
+        System.out.println("Counters Only: " + runTrackedHeap(values, true, -1) + " ms");
+        System.out.println("Counters + Slow-Op Timing: " + runTrackedHeap(values, true, 1_000_000) + " ms");
+    }
+
+    private static double runTrackedHeap(Integer[] values, boolean enabled, long slowThresholdNanos) {
+        MinHeap<Integer> heap = new MinHeap<>();
+        PerformanceTracker tracker = heap.getPerformanceTracker();
+        tracker.setEnabled(enabled);
+        tracker.setSlowOperationThresholdNanos(slowThresholdNanos);
+
+        long start = System.nanoTime();
+        for (Integer value : values) {
+            heap.insert(value);
+        }
+        while (!heap.isEmpty()) {
+            heap.extractMin();
+        }
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private static void benchmarkApproximate(int size) {
+        System.out.println("=== Approximate Heap Benchmark (n=" + size + ") ===");
+
+        Random random = new Random(42);
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = random.nextInt(1_000_000);
+        }
+
+        // Exact baselines without decrease-key upkeep, which the approximate heap never does
+        MinHeap<Integer> exact = new MinHeap<>(false, false);
+        long start = System.nanoTime();
+        for (int key : keys) {
+            exact.insert(key);
+        }
+        while (!exact.isEmpty()) {
+            exact.extractMin();
+        }
+        double exactMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        LongIntMinHeap primitive = new LongIntMinHeap();
+        start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            primitive.insert(keys[i], i);
+        }
+        while (!primitive.isEmpty()) {
+            primitive.extractMin();
+        }
+        double primitiveMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        // CSV rows for plotting: throughput from an unsampled run, accuracy from a run
+        // sampling every 64th extraction (each sample scans a whole bucket)
+        System.out.println("heap,bucketBits,timeMs,opsPerSec,avgRankError,maxRankError");
+        System.out.println(String.format("exact,-,%.3f,%.0f,0,0", exactMillis, 2 * size / (exactMillis / 1000.0)));
+        System.out.println(String.format("exactPrimitive,-,%.3f,%.0f,0,0", primitiveMillis,
+                2 * size / (primitiveMillis / 1000.0)));
+
+        for (int bucketBits = 0; bucketBits <= 16; bucketBits += 4) {
+            ApproximateMinHeap<Integer> timed = new ApproximateMinHeap<>(bucketBits, 0);
+            start = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+                timed.insert(keys[i], i);
+            }
+            while (!timed.isEmpty()) {
+                timed.extractMin();
+            }
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+            ApproximateMinHeap<Integer> sampled = new ApproximateMinHeap<>(bucketBits, 64);
+            for (int i = 0; i < size; i++) {
+                sampled.insert(keys[i], i);
+            }
+            while (!sampled.isEmpty()) {
+                sampled.extractMin();
+            }
+            PerformanceTracker tracker = sampled.getPerformanceTracker();
+
+            System.out.println(String.format("approximate,%d,%.3f,%.0f,%.2f,%d", bucketBits, millis,
+                    2 * size / (millis / 1000.0), tracker.getAverageRankError(), tracker.getMaxRankError()));
+        }
+    }
+
+    private static void benchmarkGraph(int vertices) {
+        int side = Math.max(2, (int) Math.sqrt(vertices));
+        CsrGraph random = GraphGenerator.random(vertices, vertices * 8, 1000, 42);
+        CsrGraph grid = GraphGenerator.grid(side, side, 1000, 42);
+
+        benchmarkGraph("Random Graph", random);
+        System.out.println();
+        benchmarkGraph("Grid Graph " + side + "x" + side, grid);
+    }
+
+    private static void benchmarkGraph(String name, CsrGraph graph) {
+        System.out.println("=== " + name + " (vertices=" + graph.vertexCount() +
+                ", arcs=" + graph.arcCount() + ") ===");
+
+        for (QueueStrategy strategy : QueueStrategy.values()) {
+            // Warm up once so both strategies are measured with compiled code
+            ShortestPaths.dijkstra(graph, 0, strategy);
+            long start = System.nanoTime();
+            ShortestPaths.Result paths = ShortestPaths.dijkstra(graph, 0, strategy);
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            System.out.println(String.format("Dijkstra %s: %.3f ms, %.0f edges/sec", strategy, millis,
+                    paths.arcsScanned() / (millis / 1000.0)));
+        }
+
+        for (QueueStrategy strategy : QueueStrategy.values()) {
+            SpanningTree.prim(graph, strategy);
+            long start = System.nanoTime();
+            SpanningTree.Result tree = SpanningTree.prim(graph, strategy);
+            double millis = (System.nanoTime() - start) / 1_000_000.0;
+            System.out.println(String.format("Prim %s: %.3f ms, %.0f edges/sec (weight=%d)", strategy, millis,
+                    tree.arcsScanned() / (millis / 1000.0), tree.totalWeight()));
+        }
+    }
+
     private static void runAllBenchmarks() {
         int[] sizes = {100, 1000, 10000, 100000};
 
@@ -178,6 +574,17 @@ public class BenchmarkRunner {
         return 1000;
     }
 
+    private static int getProducers(String[] args) {
+        if (args.length > 2) {
+            try {
+                return Math.max(1, Integer.parseInt(args[2]));
+            } catch (NumberFormatException e) {
+                System.out.println("Invalid producer count, using available processors");
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
     private static void printUsage() {
         System.out.println("MinHeap Benchmark Runner");
         System.out.println("Usage: java -jar assignment2-minheap.jar <operation> [size]");
@@ -187,6 +594,12 @@ public class BenchmarkRunner {
         System.out.println("  extract [size] - Benchmark extract operations");
         System.out.println("  decrease [size]- Benchmark decreaseKey operations");
         System.out.println("  merge [size]   - Benchmark merge operations");
+        System.out.println("  stable [size]  - Benchmark stable (FIFO-on-ties) heaps against unstable heap");
+        System.out.println("  concurrent [size] [producers] - Benchmark batched multi-producer queue, 1..N producers");
+        System.out.println("  external [size] - Benchmark spill-to-disk heap with a buffer of size/10");
+        System.out.println("  metrics [size] - Measure cost of metrics collection and slow-operation timing");
+        System.out.println("  approx [size]  - Compare approximate heap throughput and rank error with exact heap");
+        System.out.println("  graph [vertices] - Benchmark Dijkstra/Prim queue strategies on random and grid graphs");
         System.out.println("  all           - Run all benchmarks with multiple sizes");
         System.out.println();
         System.out.println("Examples:");
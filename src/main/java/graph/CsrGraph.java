@@ -0,0 +1,135 @@
+package graph;
+
+import java.util.*;
+
+
+/**
+ * Weighted graph in compressed sparse row form.
+ * The arcs leaving vertex v are targets[offsets[v] .. offsets[v + 1] - 1],
+ * with matching entries in weights. Three flat arrays keep adjacency scans
+ * sequential in memory and avoid per-edge objects.
+ */
+public class CsrGraph {
+    private final int vertexCount;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+
+    private CsrGraph(int vertexCount, int[] offsets, int[] targets, int[] weights) {
+        this.vertexCount = vertexCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds a graph from an edge list
+     * @param vertexCount number of vertices, ids 0..vertexCount-1
+     * @param from source vertex of each edge
+     * @param to target vertex of each edge
+     * @param weight non-negative weight of each edge
+     * @param undirected if true, every edge is stored in both directions
+     * @return graph in CSR form
+     */
+    public static CsrGraph fromEdges(int vertexCount, int[] from, int[] to, int[] weight, boolean undirected) {
+        if (vertexCount < 0) {
+            throw new IllegalArgumentException("Vertex count cannot be negative");
+        }
+        if (from == null || to == null || weight == null) {
+            throw new IllegalArgumentException("Edge arrays cannot be null");
+        }
+        if (from.length != to.length || from.length != weight.length) {
+            throw new IllegalArgumentException("Edge arrays must have equal length");
+        }
+
+        int edges = from.length;
+        int[] offsets = new int[vertexCount + 1];
+        for (int e = 0; e < edges; e++) {
+            checkVertex(from[e], vertexCount);
+            checkVertex(to[e], vertexCount);
+            if (weight[e] < 0) {
+                throw new IllegalArgumentException("Edge weights must be non-negative");
+            }
+            offsets[from[e] + 1]++;
+            if (undirected) {
+                offsets[to[e] + 1]++;
+            }
+        }
+
+        // Counting sort of arcs by source vertex
+        for (int v = 0; v < vertexCount; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        int[] next = Arrays.copyOf(offsets, vertexCount);
+        int[] targets = new int[offsets[vertexCount]];
+        int[] weights = new int[offsets[vertexCount]];
+        for (int e = 0; e < edges; e++) {
+            int slot = next[from[e]]++;
+            targets[slot] = to[e];
+            weights[slot] = weight[e];
+            if (undirected) {
+                slot = next[to[e]]++;
+                targets[slot] = from[e];
+                weights[slot] = weight[e];
+            }
+        }
+
+        return new CsrGraph(vertexCount, offsets, targets, weights);
+    }
+
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Returns number of stored arcs (twice the edge count for undirected graphs)
+     * @return arc count
+     */
+    public int arcCount() {
+        return targets.length;
+    }
+
+    public int degree(int vertex) {
+        return offsets[vertex + 1] - offsets[vertex];
+    }
+
+    /**
+     * Returns index of the first arc leaving vertex
+     * @param vertex vertex id
+     * @return first arc index
+     */
+    public int arcStart(int vertex) {
+        return offsets[vertex];
+    }
+
+    /**
+     * Returns index one past the last arc leaving vertex
+     * @param vertex vertex id
+     * @return end arc index, exclusive
+     */
+    public int arcEnd(int vertex) {
+        return offsets[vertex + 1];
+    }
+
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    public int weight(int arc) {
+        return weights[arc];
+    }
+
+    private static void checkVertex(int vertex, int vertexCount) {
+        if (vertex < 0 || vertex >= vertexCount) {
+            throw new IllegalArgumentException("Vertex out of range: " + vertex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CsrGraph{" +
+                "vertices=" + vertexCount +
+                ", arcs=" + targets.length +
+                '}';
+    }
+}
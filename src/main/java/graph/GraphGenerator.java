@@ -0,0 +1,88 @@
+package graph;
+
+import java.util.*;
+
+
+/**
+ * Generates benchmark and test graphs with uniform random weights in 1..maxWeight
+ */
+public final class GraphGenerator {
+
+    private GraphGenerator() {
+    }
+
+    /**
+     * Generates a connected random undirected graph.
+     * A random tree guarantees connectivity; the remaining edges join uniform random vertex pairs.
+     * @param vertexCount number of vertices
+     * @param edgeCount number of undirected edges, at least vertexCount - 1
+     * @param maxWeight largest edge weight
+     * @param seed random seed
+     * @return generated graph
+     */
+    public static CsrGraph random(int vertexCount, int edgeCount, int maxWeight, long seed) {
+        if (vertexCount < 1 || maxWeight < 1) {
+            throw new IllegalArgumentException("Vertex count and max weight must be positive");
+        }
+        if (edgeCount < vertexCount - 1) {
+            throw new IllegalArgumentException("Need at least vertexCount - 1 edges for connectivity");
+        }
+
+        Random random = new Random(seed);
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        int[] weight = new int[edgeCount];
+
+        for (int e = 0; e < edgeCount; e++) {
+            if (e < vertexCount - 1) {
+                from[e] = e + 1;
+                to[e] = random.nextInt(e + 1);
+            } else {
+                from[e] = random.nextInt(vertexCount);
+                to[e] = random.nextInt(vertexCount);
+            }
+            weight[e] = 1 + random.nextInt(maxWeight);
+        }
+
+        return CsrGraph.fromEdges(vertexCount, from, to, weight, true);
+    }
+
+    /**
+     * Generates an undirected rows x cols grid with 4-neighbour edges
+     * @param rows number of rows
+     * @param cols number of columns
+     * @param maxWeight largest edge weight
+     * @param seed random seed
+     * @return generated graph; vertex id is row * cols + col
+     */
+    public static CsrGraph grid(int rows, int cols, int maxWeight, long seed) {
+        if (rows < 1 || cols < 1 || maxWeight < 1) {
+            throw new IllegalArgumentException("Dimensions and max weight must be positive");
+        }
+
+        Random random = new Random(seed);
+        int edgeCount = rows * (cols - 1) + (rows - 1) * cols;
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        int[] weight = new int[edgeCount];
+
+        int e = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int vertex = r * cols + c;
+                if (c + 1 < cols) {
+                    from[e] = vertex;
+                    to[e] = vertex + 1;
+                    weight[e++] = 1 + random.nextInt(maxWeight);
+                }
+                if (r + 1 < rows) {
+                    from[e] = vertex;
+                    to[e] = vertex + cols;
+                    weight[e++] = 1 + random.nextInt(maxWeight);
+                }
+            }
+        }
+
+        return CsrGraph.fromEdges(rows * cols, from, to, weight, true);
+    }
+}
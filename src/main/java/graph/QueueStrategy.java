@@ -0,0 +1,16 @@
+package graph;
+
+/**
+ * How a graph algorithm keeps its frontier in a priority queue
+ */
+public enum QueueStrategy {
+    /**
+     * One entry per vertex in an IndexedLongMinHeap; improvements call decreaseKey
+     */
+    DECREASE_KEY,
+
+    /**
+     * Every improvement inserts a new entry into a LongIntMinHeap; stale entries are skipped on extraction
+     */
+    LAZY_INSERTION
+}
@@ -0,0 +1,147 @@
+package graph;
+
+import algorithms.IndexedLongMinHeap;
+import algorithms.LongIntMinHeap;
+import java.util.*;
+
+
+/**
+ * Single-source shortest paths with Dijkstra's algorithm over a CsrGraph
+ */
+public final class ShortestPaths {
+
+    /**
+     * Distance of vertices not reachable from the source
+     */
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private ShortestPaths() {
+    }
+
+    /**
+     * Result of one Dijkstra run
+     */
+    public static final class Result {
+        private final long[] distances;
+        private final int[] parents;
+        private final long arcsScanned;
+
+        Result(long[] distances, int[] parents, long arcsScanned) {
+            this.distances = distances;
+            this.parents = parents;
+            this.arcsScanned = arcsScanned;
+        }
+
+        /**
+         * Returns distance from the source
+         * @param vertex vertex id
+         * @return distance, or UNREACHABLE
+         */
+        public long distance(int vertex) {
+            return distances[vertex];
+        }
+
+        /**
+         * Returns predecessor on a shortest path
+         * @param vertex vertex id
+         * @return parent vertex, or -1 for the source and unreachable vertices
+         */
+        public int parent(int vertex) {
+            return parents[vertex];
+        }
+
+        /**
+         * Returns number of arcs examined, the unit of benchmark throughput
+         * @return arcs scanned
+         */
+        public long arcsScanned() {
+            return arcsScanned;
+        }
+    }
+
+    /**
+     * Computes shortest distances from source to every vertex
+     * @param graph graph with non-negative weights
+     * @param source source vertex
+     * @param strategy priority queue strategy
+     * @return distances and shortest-path tree
+     */
+    public static Result dijkstra(CsrGraph graph, int source, QueueStrategy strategy) {
+        if (graph == null || strategy == null) {
+            throw new IllegalArgumentException("Graph and strategy cannot be null");
+        }
+        if (source < 0 || source >= graph.vertexCount()) {
+            throw new IllegalArgumentException("Source out of range: " + source);
+        }
+
+        long[] distances = new long[graph.vertexCount()];
+        int[] parents = new int[graph.vertexCount()];
+        Arrays.fill(distances, UNREACHABLE);
+        Arrays.fill(parents, -1);
+        distances[source] = 0;
+
+        long arcsScanned = strategy == QueueStrategy.DECREASE_KEY
+                ? runDecreaseKey(graph, source, distances, parents)
+                : runLazy(graph, source, distances, parents);
+
+        return new Result(distances, parents, arcsScanned);
+    }
+
+    private static long runDecreaseKey(CsrGraph graph, int source, long[] distances, int[] parents) {
+        IndexedLongMinHeap queue = new IndexedLongMinHeap(graph.vertexCount());
+        queue.getPerformanceTracker().setEnabled(false);
+        queue.insert(source, 0);
+        long arcsScanned = 0;
+
+        while (!queue.isEmpty()) {
+            int vertex = queue.extractMin();
+            long distance = distances[vertex];
+
+            for (int arc = graph.arcStart(vertex), end = graph.arcEnd(vertex); arc < end; arc++) {
+                arcsScanned++;
+                int target = graph.target(arc);
+                long candidate = distance + graph.weight(arc);
+                if (candidate < distances[target]) {
+                    boolean queued = distances[target] != UNREACHABLE;
+                    distances[target] = candidate;
+                    parents[target] = vertex;
+                    if (queued) {
+                        queue.decreaseKey(target, candidate);
+                    } else {
+                        queue.insert(target, candidate);
+                    }
+                }
+            }
+        }
+
+        return arcsScanned;
+    }
+
+    private static long runLazy(CsrGraph graph, int source, long[] distances, int[] parents) {
+        LongIntMinHeap queue = new LongIntMinHeap();
+        queue.getPerformanceTracker().setEnabled(false);
+        queue.insert(0, source);
+        long arcsScanned = 0;
+
+        while (!queue.isEmpty()) {
+            long distance = queue.peekKey();
+            int vertex = queue.extractMin();
+            if (distance > distances[vertex]) {
+                continue; // Stale entry superseded by a shorter path
+            }
+
+            for (int arc = graph.arcStart(vertex), end = graph.arcEnd(vertex); arc < end; arc++) {
+                arcsScanned++;
+                int target = graph.target(arc);
+                long candidate = distance + graph.weight(arc);
+                if (candidate < distances[target]) {
+                    distances[target] = candidate;
+                    parents[target] = vertex;
+                    queue.insert(candidate, target);
+                }
+            }
+        }
+
+        return arcsScanned;
+    }
+}
@@ -0,0 +1,147 @@
+package graph;
+
+import algorithms.IndexedLongMinHeap;
+import algorithms.LongIntMinHeap;
+import java.util.*;
+
+
+/**
+ * Minimum spanning forest with Prim's algorithm over an undirected CsrGraph
+ */
+public final class SpanningTree {
+
+    private SpanningTree() {
+    }
+
+    /**
+     * Result of one Prim run
+     */
+    public static final class Result {
+        private final int[] parents;
+        private final long totalWeight;
+        private final long arcsScanned;
+
+        Result(int[] parents, long totalWeight, long arcsScanned) {
+            this.parents = parents;
+            this.totalWeight = totalWeight;
+            this.arcsScanned = arcsScanned;
+        }
+
+        /**
+         * Returns parent of vertex in the spanning forest
+         * @param vertex vertex id
+         * @return parent vertex, or -1 for tree roots
+         */
+        public int parent(int vertex) {
+            return parents[vertex];
+        }
+
+        public long totalWeight() {
+            return totalWeight;
+        }
+
+        /**
+         * Returns number of arcs examined, the unit of benchmark throughput
+         * @return arcs scanned
+         */
+        public long arcsScanned() {
+            return arcsScanned;
+        }
+    }
+
+    /**
+     * Computes a minimum spanning forest; each connected component gets its own tree
+     * @param graph undirected graph (edges stored in both directions)
+     * @param strategy priority queue strategy
+     * @return forest parents and total weight
+     */
+    public static Result prim(CsrGraph graph, QueueStrategy strategy) {
+        if (graph == null || strategy == null) {
+            throw new IllegalArgumentException("Graph and strategy cannot be null");
+        }
+
+        int n = graph.vertexCount();
+        long[] attachCost = new long[n];
+        int[] parents = new int[n];
+        boolean[] inTree = new boolean[n];
+        Arrays.fill(attachCost, Long.MAX_VALUE);
+        Arrays.fill(parents, -1);
+
+        long[] totals = new long[2]; // Total weight, arcs scanned
+        IndexedLongMinHeap indexed = null;
+        LongIntMinHeap lazy = null;
+        if (strategy == QueueStrategy.DECREASE_KEY) {
+            indexed = new IndexedLongMinHeap(n);
+            indexed.getPerformanceTracker().setEnabled(false);
+        } else {
+            lazy = new LongIntMinHeap();
+            lazy.getPerformanceTracker().setEnabled(false);
+        }
+
+        for (int root = 0; root < n; root++) {
+            if (inTree[root]) {
+                continue;
+            }
+            attachCost[root] = 0;
+            if (indexed != null) {
+                growDecreaseKey(graph, root, indexed, attachCost, parents, inTree, totals);
+            } else {
+                growLazy(graph, root, lazy, attachCost, parents, inTree, totals);
+            }
+        }
+
+        return new Result(parents, totals[0], totals[1]);
+    }
+
+    private static void growDecreaseKey(CsrGraph graph, int root, IndexedLongMinHeap queue,
+                                        long[] attachCost, int[] parents, boolean[] inTree, long[] totals) {
+        queue.insert(root, 0);
+
+        while (!queue.isEmpty()) {
+            int vertex = queue.extractMin();
+            inTree[vertex] = true;
+            totals[0] += attachCost[vertex];
+
+            for (int arc = graph.arcStart(vertex), end = graph.arcEnd(vertex); arc < end; arc++) {
+                totals[1]++;
+                int target = graph.target(arc);
+                int weight = graph.weight(arc);
+                if (!inTree[target] && weight < attachCost[target]) {
+                    boolean queued = attachCost[target] != Long.MAX_VALUE;
+                    attachCost[target] = weight;
+                    parents[target] = vertex;
+                    if (queued) {
+                        queue.decreaseKey(target, weight);
+                    } else {
+                        queue.insert(target, weight);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void growLazy(CsrGraph graph, int root, LongIntMinHeap queue,
+                                 long[] attachCost, int[] parents, boolean[] inTree, long[] totals) {
+        queue.insert(0, root);
+
+        while (!queue.isEmpty()) {
+            int vertex = queue.extractMin();
+            if (inTree[vertex]) {
+                continue; // Stale entry; vertex was attached through a cheaper edge
+            }
+            inTree[vertex] = true;
+            totals[0] += attachCost[vertex];
+
+            for (int arc = graph.arcStart(vertex), end = graph.arcEnd(vertex); arc < end; arc++) {
+                totals[1]++;
+                int target = graph.target(arc);
+                int weight = graph.weight(arc);
+                if (!inTree[target] && weight < attachCost[target]) {
+                    attachCost[target] = weight;
+                    parents[target] = vertex;
+                    queue.insert(weight, target);
+                }
+            }
+        }
+    }
+}
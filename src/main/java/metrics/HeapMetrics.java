@@ -0,0 +1,217 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Publishes a heap's PerformanceTracker through JMX.
+ * Snapshots are taken by sample(), either on demand or periodically after
+ * start(); MBean getters only read the latest snapshot. The tracker is not
+ * synchronized, so values read from the sampling thread are approximate.
+ */
+public class HeapMetrics implements HeapMetricsMXBean, AutoCloseable {
+    private final PerformanceTracker tracker;
+    private final IntSupplier size;
+    private final IntSupplier capacity;
+    private final ObjectName objectName;
+    private volatile MetricsSnapshot previous;
+    private volatile MetricsSnapshot latest;
+    private ScheduledExecutorService sampler;
+    private boolean registered;
+
+    /**
+     * Constructs metrics for one heap
+     * @param name value of the MBean name key, unique per heap
+     * @param tracker tracker of the heap
+     * @param size supplier of the heap size
+     * @param capacity supplier of the allocated heap capacity
+     */
+    public HeapMetrics(String name, PerformanceTracker tracker, IntSupplier size, IntSupplier capacity) {
+        if (name == null || tracker == null || size == null || capacity == null) {
+            throw new IllegalArgumentException("Arguments cannot be null");
+        }
+
+        this.tracker = tracker;
+        this.size = size;
+        this.capacity = capacity;
+        try {
+            this.objectName = new ObjectName("metrics:type=HeapMetrics,name=" + ObjectName.quote(name));
+        } catch (JMException e) {
+            throw new IllegalArgumentException("Invalid metrics name: " + name, e);
+        }
+
+        this.latest = new MetricsSnapshot(tracker, size.getAsInt(), capacity.getAsInt());
+        this.previous = latest;
+    }
+
+    /**
+     * Registers the MBean with the platform MBean server
+     * @return this
+     * @throws IllegalStateException if registration fails
+     */
+    public synchronized HeapMetrics register() {
+        if (!registered) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot register " + objectName, e);
+            }
+            registered = true;
+        }
+        return this;
+    }
+
+    /**
+     * Starts taking snapshots on a daemon thread
+     * @param period time between snapshots
+     * @param unit unit of period
+     * @return this
+     */
+    public synchronized HeapMetrics start(long period, TimeUnit unit) {
+        if (sampler == null) {
+            sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "heap-metrics-" + objectName.getKeyProperty("name"));
+                thread.setDaemon(true);
+                return thread;
+            });
+            sampler.scheduleAtFixedRate(this::sample, period, period, unit);
+        }
+        return this;
+    }
+
+    /**
+     * Takes a new snapshot, making it the latest
+     * @return the new snapshot
+     */
+    public MetricsSnapshot sample() {
+        MetricsSnapshot snapshot = new MetricsSnapshot(tracker, size.getAsInt(), capacity.getAsInt());
+        synchronized (this) {
+            previous = latest;
+            latest = snapshot;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the most recent snapshot
+     * @return latest snapshot
+     */
+    public MetricsSnapshot getLatest() {
+        return latest;
+    }
+
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    /**
+     * Stops sampling and unregisters the MBean
+     */
+    @Override
+    public synchronized void close() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+            sampler = null;
+        }
+        if (registered) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                server.unregisterMBean(objectName);
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot unregister " + objectName, e);
+            } finally {
+                registered = false;
+            }
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return latest.getSize();
+    }
+
+    @Override
+    public int getCapacity() {
+        return latest.getCapacity();
+    }
+
+    @Override
+    public long getComparisons() {
+        return latest.getComparisons();
+    }
+
+    @Override
+    public long getSwaps() {
+        return latest.getSwaps();
+    }
+
+    @Override
+    public long getResizeCount() {
+        return latest.getResizes();
+    }
+
+    @Override
+    public long getInsertCount() {
+        return latest.getOperationCount(PerformanceTracker.Operation.INSERT);
+    }
+
+    @Override
+    public long getExtractMinCount() {
+        return latest.getOperationCount(PerformanceTracker.Operation.EXTRACT_MIN);
+    }
+
+    @Override
+    public long getDecreaseKeyCount() {
+        return latest.getOperationCount(PerformanceTracker.Operation.DECREASE_KEY);
+    }
+
+    @Override
+    public long getMergeCount() {
+        return latest.getOperationCount(PerformanceTracker.Operation.MERGE);
+    }
+
+    @Override
+    public long getSlowOperationCount() {
+        return latest.getSlowOperations();
+    }
+
+    @Override
+    public double getInsertsPerSecond() {
+        return rate(PerformanceTracker.Operation.INSERT);
+    }
+
+    @Override
+    public double getExtractMinsPerSecond() {
+        return rate(PerformanceTracker.Operation.EXTRACT_MIN);
+    }
+
+    @Override
+    public double getDecreaseKeysPerSecond() {
+        return rate(PerformanceTracker.Operation.DECREASE_KEY);
+    }
+
+    @Override
+    public double getMergesPerSecond() {
+        return rate(PerformanceTracker.Operation.MERGE);
+    }
+
+    @Override
+    public double getAverageSiftDepth() {
+        return latest.getAverageSiftDepth();
+    }
+
+    @Override
+    public long getSnapshotTimeMillis() {
+        return latest.getTimeMillis();
+    }
+
+    private synchronized double rate(PerformanceTracker.Operation operation) {
+        return latest.getRate(operation, previous);
+    }
+}
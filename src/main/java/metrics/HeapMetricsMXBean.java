@@ -0,0 +1,39 @@
+package metrics;
+
+/**
+ * JMX view of a heap's gauges and counters.
+ * Rates are computed between the two most recent snapshots.
+ */
+public interface HeapMetricsMXBean {
+    int getSize();
+
+    int getCapacity();
+
+    long getComparisons();
+
+    long getSwaps();
+
+    long getResizeCount();
+
+    long getInsertCount();
+
+    long getExtractMinCount();
+
+    long getDecreaseKeyCount();
+
+    long getMergeCount();
+
+    long getSlowOperationCount();
+
+    double getInsertsPerSecond();
+
+    double getExtractMinsPerSecond();
+
+    double getDecreaseKeysPerSecond();
+
+    double getMergesPerSecond();
+
+    double getAverageSiftDepth();
+
+    long getSnapshotTimeMillis();
+}
@@ -0,0 +1,97 @@
+package metrics;
+
+/**
+ * Immutable point-in-time copy of a heap's metrics
+ */
+public class MetricsSnapshot {
+    private final long timestampNanos;
+    private final long timeMillis;
+    private final int size;
+    private final int capacity;
+    private final long comparisons;
+    private final long swaps;
+    private final long resizes;
+    private final long slowOperations;
+    private final long totalSiftDepth;
+    private final long[] operationCounts;
+
+    public MetricsSnapshot(PerformanceTracker tracker, int size, int capacity) {
+        this.timestampNanos = System.nanoTime();
+        this.timeMillis = System.currentTimeMillis();
+        this.size = size;
+        this.capacity = capacity;
+        this.comparisons = tracker.getComparisons();
+        this.swaps = tracker.getSwaps();
+        this.resizes = tracker.getResizes();
+        this.slowOperations = tracker.getSlowOperations();
+        this.totalSiftDepth = tracker.getTotalSiftDepth();
+
+        PerformanceTracker.Operation[] operations = PerformanceTracker.Operation.values();
+        this.operationCounts = new long[operations.length];
+        for (PerformanceTracker.Operation operation : operations) {
+            operationCounts[operation.ordinal()] = tracker.getOperationCount(operation);
+        }
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    public long getSwaps() {
+        return swaps;
+    }
+
+    public long getResizes() {
+        return resizes;
+    }
+
+    public long getSlowOperations() {
+        return slowOperations;
+    }
+
+    public long getOperationCount(PerformanceTracker.Operation operation) {
+        return operationCounts[operation.ordinal()];
+    }
+
+    public double getAverageSiftDepth() {
+        long operations = 0;
+        for (long count : operationCounts) {
+            operations += count;
+        }
+        return operations == 0 ? 0.0 : (double) totalSiftDepth / operations;
+    }
+
+    /**
+     * Returns operations per second between an earlier snapshot and this one
+     * @param operation kind of operation
+     * @param earlier previous snapshot of the same tracker
+     * @return rate, or 0 if no time elapsed or the tracker was reset in between
+     */
+    public double getRate(PerformanceTracker.Operation operation, MetricsSnapshot earlier) {
+        long elapsed = timestampNanos - earlier.timestampNanos;
+        long delta = getOperationCount(operation) - earlier.getOperationCount(operation);
+        if (elapsed <= 0 || delta < 0) {
+            return 0.0;
+        }
+        return delta * 1_000_000_000.0 / elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MetricsSnapshot{size=%d, capacity=%d, comparisons=%d, swaps=%d, " +
+                "resizes=%d, averageSiftDepth=%.2f}",
+                size, capacity, comparisons, swaps, resizes, getAverageSiftDepth());
+    }
+}
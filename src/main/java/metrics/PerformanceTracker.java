@@ -4,65 +4,225 @@ package metrics;
  * Tracks performance metrics for algorithm analysis
  */
 public class PerformanceTracker {
+
+    /**
+     * Heap operations counted by recordOperation
+     */
+    public enum Operation {
+        INSERT, EXTRACT_MIN, DECREASE_KEY, MERGE
+    }
+
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
     private long comparisons;
     private long swaps;
     private long arrayAccesses;
     private long memoryAllocations;
     private long startTime;
     private long endTime;
-    
+    private final long[] operationCounts = new long[Operation.values().length];
+    private long totalSiftDepth;
+    private long resizes;
+    private long slowOperations;
+    private long rankErrorSamples;
+    private long totalRankError;
+    private long maxRankError;
+    private boolean enabled = true;
+    private long slowOperationThresholdNanos = -1;
+
     public PerformanceTracker() {
         reset();
     }
-    
+
     public void incrementComparisons() {
-        comparisons++;
+        if (enabled) {
+            comparisons++;
+        }
     }
-    
+
     public void incrementSwaps() {
-        swaps++;
+        if (enabled) {
+            swaps++;
+        }
     }
-    
+
     public void incrementArrayAccesses() {
-        arrayAccesses++;
+        if (enabled) {
+            arrayAccesses++;
+        }
     }
-    
+
     public void incrementMemoryAllocations() {
-        memoryAllocations++;
+        if (enabled) {
+            memoryAllocations++;
+        }
+    }
+
+    public void incrementResizes() {
+        if (enabled) {
+            resizes++;
+        }
+    }
+
+    /**
+     * Starts timing an operation for slow-operation detection
+     * @return start timestamp to pass to recordOperation
+     */
+    public long startOperation() {
+        // Only pay for the clock when slow-operation detection is on
+        return enabled && slowOperationThresholdNanos >= 0 ? System.nanoTime() : NOT_TIMED;
+    }
+
+    /**
+     * Records a completed operation. If it took at least the slow-operation
+     * threshold, a {@link SlowOperationEvent} is emitted to JDK Flight Recorder.
+     * @param operation kind of operation
+     * @param siftDepth number of levels the element moved
+     * @param start value returned by startOperation
+     * @param heapSize heap size after the operation
+     */
+    public void recordOperation(Operation operation, int siftDepth, long start, int heapSize) {
+        recordOperations(operation, 1, siftDepth, start, heapSize);
     }
-    
+
+    /**
+     * Records a batch of operations completed by one call, such as a bulk
+     * insert. Counts and sift depth add up as if each operation had been
+     * recorded on its own; the slow-operation check applies to the whole call.
+     * @param operation kind of operation
+     * @param count number of operations in the batch
+     * @param siftDepth total number of levels elements moved
+     * @param start value returned by startOperation
+     * @param heapSize heap size after the call
+     */
+    public void recordOperations(Operation operation, int count, long siftDepth, long start, int heapSize) {
+        if (!enabled) {
+            return;
+        }
+
+        operationCounts[operation.ordinal()] += count;
+        totalSiftDepth += siftDepth;
+
+        if (start != NOT_TIMED) {
+            long duration = System.nanoTime() - start;
+            if (duration >= slowOperationThresholdNanos) {
+                slowOperations++;
+                SlowOperationEvent.emit(operation, duration, (int) Math.min(siftDepth, Integer.MAX_VALUE),
+                        heapSize);
+            }
+        }
+    }
+
+    /**
+     * Records how many smaller elements remained when an approximate heap
+     * returned an element (0 means it returned the exact minimum)
+     * @param rankError observed rank error of one extraction
+     */
+    public void recordRankError(long rankError) {
+        if (enabled) {
+            rankErrorSamples++;
+            totalRankError += rankError;
+            maxRankError = Math.max(maxRankError, rankError);
+        }
+    }
+
     public void startTimer() {
         startTime = System.nanoTime();
     }
-    
+
     public void endTimer() {
         endTime = System.nanoTime();
     }
-    
+
+    /**
+     * Enables or disables collection; a disabled tracker records nothing
+     * @param enabled true to collect metrics
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets the duration above which operations are reported as slow
+     * @param thresholdNanos threshold in nanoseconds, or negative to disable timing
+     */
+    public void setSlowOperationThresholdNanos(long thresholdNanos) {
+        this.slowOperationThresholdNanos = thresholdNanos;
+    }
+
+    public long getSlowOperationThresholdNanos() {
+        return slowOperationThresholdNanos;
+    }
+
     public long getComparisons() {
         return comparisons;
     }
-    
+
     public long getSwaps() {
         return swaps;
     }
-    
+
     public long getArrayAccesses() {
         return arrayAccesses;
     }
-    
+
     public long getMemoryAllocations() {
         return memoryAllocations;
     }
-    
+
+    public long getOperationCount(Operation operation) {
+        return operationCounts[operation.ordinal()];
+    }
+
+    public long getTotalOperations() {
+        long total = 0;
+        for (long count : operationCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long getTotalSiftDepth() {
+        return totalSiftDepth;
+    }
+
+    public double getAverageSiftDepth() {
+        long operations = getTotalOperations();
+        return operations == 0 ? 0.0 : (double) totalSiftDepth / operations;
+    }
+
+    public long getResizes() {
+        return resizes;
+    }
+
+    public long getSlowOperations() {
+        return slowOperations;
+    }
+
+    public long getRankErrorSamples() {
+        return rankErrorSamples;
+    }
+
+    public double getAverageRankError() {
+        return rankErrorSamples == 0 ? 0.0 : (double) totalRankError / rankErrorSamples;
+    }
+
+    public long getMaxRankError() {
+        return maxRankError;
+    }
+
     public long getExecutionTimeNanos() {
         return endTime - startTime;
     }
-    
+
     public double getExecutionTimeMillis() {
         return (endTime - startTime) / 1_000_000.0;
     }
-    
+
     public void reset() {
         comparisons = 0;
         swaps = 0;
@@ -70,13 +230,23 @@ public class PerformanceTracker {
         memoryAllocations = 0;
         startTime = 0;
         endTime = 0;
+        for (int i = 0; i < operationCounts.length; i++) {
+            operationCounts[i] = 0;
+        }
+        totalSiftDepth = 0;
+        resizes = 0;
+        slowOperations = 0;
+        rankErrorSamples = 0;
+        totalRankError = 0;
+        maxRankError = 0;
     }
-    
+
     @Override
     public String toString() {
         return String.format("PerformanceTracker{comparisons=%d, swaps=%d, arrayAccesses=%d, " +
-                "memoryAllocations=%d, executionTime=%.2fms}",
-                comparisons, swaps, arrayAccesses, memoryAllocations, getExecutionTimeMillis());
+                "memoryAllocations=%d, operations=%d, resizes=%d, executionTime=%.2fms}",
+                comparisons, swaps, arrayAccesses, memoryAllocations, getTotalOperations(), resizes,
+                getExecutionTimeMillis());
     }
 }
 // PerformanceTracker implementation
@@ -0,0 +1,43 @@
+package metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event for heap operations slower than the tracker's threshold
+ */
+@Name("metrics.SlowHeapOperation")
+@Label("Slow Heap Operation")
+@Category("Heap")
+@Description("Heap operation that took longer than the configured threshold")
+public class SlowOperationEvent extends Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long durationNanos;
+
+    @Label("Sift Depth")
+    int siftDepth;
+
+    @Label("Heap Size")
+    int heapSize;
+
+    static void emit(PerformanceTracker.Operation operation, long durationNanos, int siftDepth, int heapSize) {
+        SlowOperationEvent event = new SlowOperationEvent();
+        // isEnabled is false unless a recording has this event turned on
+        if (event.isEnabled()) {
+            event.operation = operation.name();
+            event.durationNanos = durationNanos;
+            event.siftDepth = siftDepth;
+            event.heapSize = heapSize;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package algorithms;
+
+import metrics.PerformanceTracker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+
+class ApproximateMinHeapTest {
+
+    @Test
+    @DisplayName("Test empty heap properties")
+    void testEmptyHeap() {
+        ApproximateMinHeap<String> heap = new ApproximateMinHeap<>(4);
+        assertTrue(heap.isEmpty());
+        assertThrows(NoSuchElementException.class, heap::peek);
+        assertThrows(NoSuchElementException.class, heap::peekKey);
+        assertThrows(NoSuchElementException.class, heap::extractMin);
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(1, null));
+        assertThrows(IllegalArgumentException.class, () -> new ApproximateMinHeap<String>(32));
+    }
+
+    @Test
+    @DisplayName("Test rank-error sampling is off by default")
+    void testSamplingOptIn() {
+        ApproximateMinHeap<Integer> heap = new ApproximateMinHeap<>(4);
+        for (int i = 0; i < 1000; i++) {
+            heap.insert(i, i);
+        }
+        while (!heap.isEmpty()) {
+            heap.extractMin();
+        }
+        assertEquals(0, heap.getPerformanceTracker().getRankErrorSamples());
+    }
+
+    @Test
+    @DisplayName("Test zero bucket bits gives exact order")
+    void testExactWithZeroBits() {
+        ApproximateMinHeap<Integer> heap = new ApproximateMinHeap<>(0, 1);
+        Integer[] keys = {5, -2, 8, 1, 9, -3, 7, 4, 6};
+        for (Integer key : keys) {
+            heap.insert(key, key);
+        }
+
+        List<Integer> extracted = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            extracted.add(heap.extractMin());
+        }
+        assertEquals(Arrays.asList(-3, -2, 1, 4, 5, 6, 7, 8, 9), extracted);
+        assertEquals(0, heap.getPerformanceTracker().getMaxRankError());
+    }
+
+    @Test
+    @DisplayName("Test buckets that close and reopen stay exact and are reused")
+    void testBucketReuse() {
+        ApproximateMinHeap<Integer> heap = new ApproximateMinHeap<>(0, 0);
+        TreeMap<Integer, Integer> model = new TreeMap<>(); // Key -> copies
+        Random random = new Random(11);
+        int maxOpenBuckets = 0;
+
+        for (int i = 0; i < 50000; i++) {
+            if (model.isEmpty() || random.nextBoolean()) {
+                int key = random.nextInt(2000) - 1000;
+                heap.insert(key, key);
+                model.merge(key, 1, Integer::sum);
+                maxOpenBuckets = Math.max(maxOpenBuckets, model.size());
+            } else {
+                int key = heap.extractMin();
+                assertEquals(model.firstKey(), key);
+                model.merge(key, -1, (copies, delta) -> copies + delta == 0 ? null : copies + delta);
+            }
+        }
+
+        // One bucket per distinct key: closed buckets are reused, so allocations follow the peak
+        assertTrue(heap.getPerformanceTracker().getMemoryAllocations() <= maxOpenBuckets);
+        while (!model.isEmpty()) {
+            int key = heap.extractMin();
+            assertEquals(model.firstKey(), key);
+            model.merge(key, -1, (copies, delta) -> copies + delta == 0 ? null : copies + delta);
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test extracted keys stay within the error bound")
+    void testKeyErrorBound() {
+        ApproximateMinHeap<Integer> heap = new ApproximateMinHeap<>(6, 1);
+        PriorityQueue<Integer> model = new PriorityQueue<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20000; i++) {
+            if (model.isEmpty() || random.nextInt(3) > 0) {
+                int key = random.nextInt(100000) - 50000;
+                heap.insert(key, key);
+                model.add(key);
+            } else {
+                int key = heap.extractMin();
+                assertTrue(key - model.peek() <= heap.getKeyErrorBound());
+                assertTrue(model.remove(key));
+            }
+        }
+        assertEquals(model.size(), heap.size());
+
+        PerformanceTracker tracker = heap.getPerformanceTracker();
+        assertTrue(tracker.getRankErrorSamples() > 0);
+        assertTrue(tracker.getMaxRankError() > 0);
+    }
+}
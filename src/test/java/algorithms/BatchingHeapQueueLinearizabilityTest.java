@@ -0,0 +1,59 @@
+package algorithms;
+
+import algorithms.LinearizabilityChecker.ConcurrentHeapAdapter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+
+class BatchingHeapQueueLinearizabilityTest {
+
+    @Test
+    @DisplayName("Linearizability: BatchingHeapQueue with concurrent producers")
+    void testBatchingHeapQueue() throws InterruptedException {
+        int rounds = Math.max(1, DifferentialTester.sequences() / 10);
+        for (int round = 0; round < rounds; round++) {
+            BatchingHeapQueue<Long> queue = new BatchingHeapQueue<>(4);
+            LinearizabilityChecker.check(adapter(queue), 4, DifferentialTester.length() * 5, 16, round);
+        }
+    }
+
+    @Test
+    @DisplayName("Checker accepts overlapping inserts and rejects a stale minimum")
+    void testCheckerHistories() {
+        long[] elements = {DifferentialTester.entry(5, 0), DifferentialTester.entry(1, 1)};
+        long[] insertStart = {0, 10};
+        long[] insertEnd = {5, 20};
+
+        // Key 1 was still being inserted when the first take began, so either order is valid
+        LinearizabilityChecker.verify(elements, insertStart, insertEnd,
+                new long[] {elements[0], elements[1]}, new long[] {15, 30}, new long[] {25, 35});
+
+        // Key 1 was inserted before the first take began, so returning key 5 first is a violation
+        AssertionError error = assertThrows(AssertionError.class, () ->
+                LinearizabilityChecker.verify(elements, insertStart, insertEnd,
+                        new long[] {elements[0], elements[1]}, new long[] {21, 30}, new long[] {25, 35}));
+        assertTrue(error.getMessage().contains("already inserted"));
+
+        // Taking an element twice is a violation
+        assertThrows(AssertionError.class, () ->
+                LinearizabilityChecker.verify(elements, insertStart, insertEnd,
+                        new long[] {elements[1], elements[1]}, new long[] {21, 30}, new long[] {25, 35}));
+    }
+
+    private static ConcurrentHeapAdapter adapter(BatchingHeapQueue<Long> queue) {
+        return new ConcurrentHeapAdapter() {
+            @Override
+            public void insert(long element) {
+                queue.insert(element);
+            }
+
+            @Override
+            public long take() throws InterruptedException {
+                return queue.take();
+            }
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package algorithms;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+
+class BatchingHeapQueueTest {
+
+    private BatchingHeapQueue<Integer> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new BatchingHeapQueue<>(4);
+    }
+
+    @Test
+    @DisplayName("Test empty queue properties")
+    void testEmptyQueue() throws InterruptedException {
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> queue.insert(null));
+    }
+
+    @Test
+    @DisplayName("Test single-threaded priority order")
+    void testPriorityOrder() {
+        Integer[] elements = {5, 2, 8, 1, 9, 3, 7, 4, 6};
+        for (Integer element : elements) {
+            queue.insert(element);
+        }
+
+        assertEquals(9, queue.size());
+        List<Integer> extracted = new ArrayList<>();
+        Integer element;
+        while ((element = queue.poll()) != null) {
+            extracted.add(element);
+        }
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), extracted);
+    }
+
+    @Test
+    @DisplayName("Test blocking take receives items from many producers")
+    void testConcurrentProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 5000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int offset = p * perProducer;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    queue.insert(offset + i);
+                }
+            });
+            threads[p].start();
+        }
+
+        boolean[] seen = new boolean[producers * perProducer];
+        for (int i = 0; i < seen.length; i++) {
+            int value = queue.take();
+            assertFalse(seen[value]);
+            seen[value] = true;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test take is interruptible while waiting")
+    void testTakeInterrupted() throws InterruptedException {
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> queue.take());
+        assertFalse(Thread.interrupted());
+    }
+
+    @Test
+    @DisplayName("Test take throws when interrupted while parked")
+    void testTakeInterruptedWhileParked() throws InterruptedException {
+        Throwable[] thrown = new Throwable[1];
+        Thread consumer = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (Throwable e) {
+                thrown[0] = e;
+            }
+        });
+        consumer.start();
+        awaitState(consumer, Thread.State.WAITING);
+
+        consumer.interrupt();
+        consumer.join(10_000);
+
+        assertFalse(consumer.isAlive());
+        assertTrue(thrown[0] instanceof InterruptedException);
+    }
+
+    @Test
+    @DisplayName("Test timed poll is woken by a producer before its timeout")
+    void testTimedPollWokenByProducer() throws InterruptedException {
+        Object[] result = new Object[1];
+        long[] waitedNanos = new long[1];
+        Thread consumer = new Thread(() -> {
+            long start = System.nanoTime();
+            try {
+                result[0] = queue.poll(60, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                result[0] = e;
+            }
+            waitedNanos[0] = System.nanoTime() - start;
+        });
+        consumer.start();
+        awaitState(consumer, Thread.State.TIMED_WAITING);
+
+        queue.insert(42);
+        consumer.join(30_000);
+
+        assertFalse(consumer.isAlive());
+        assertEquals(42, result[0]);
+        assertTrue(waitedNanos[0] < TimeUnit.SECONDS.toNanos(30));
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (thread.getState() != state) {
+            assertTrue(System.nanoTime() < deadline, "Thread never reached " + state);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package algorithms;
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+
+/**
+ * Randomized differential tester for heap implementations.
+ * Replays seeded operation sequences against a heap adapter and against a
+ * java.util.PriorityQueue model, checking every result. A failing sequence
+ * is shrunk (chunks removed, keys simplified) before it is reported, and the
+ * report names the seed so the run can be repeated with -Dheap.stress.seed.
+ *
+ * Sequence count and length come from heap.stress.sequences and
+ * heap.stress.length; the defaults are small enough for every build and the
+ * "stress" Maven profile raises them.
+ */
+final class DifferentialTester {
+
+    enum OpType {
+        INSERT, INSERT_ALL, EXTRACT, PEEK, DECREASE_KEY, MERGE
+    }
+
+    /**
+     * One step of a sequence. Arguments are interpreted relative to the model
+     * state when replayed, so any subsequence is still a valid sequence.
+     */
+    static final class Op {
+        final OpType type;
+        final int[] args;
+
+        Op(OpType type, int... args) {
+            this.type = type;
+            this.args = args;
+        }
+
+        @Override
+        public String toString() {
+            return type + Arrays.toString(args);
+        }
+    }
+
+    /**
+     * Adapter from a heap implementation to the tester. Elements are int keys
+     * with a unique id; the id increases with insertion order.
+     */
+    interface HeapAdapter extends AutoCloseable {
+        void insert(int key, int id);
+
+        /**
+         * @return extracted element as entry(key, id)
+         * @throws NoSuchElementException if empty
+         */
+        long extractMin();
+
+        /**
+         * @return minimum element as entry(key, id)
+         * @throws NoSuchElementException if empty
+         */
+        long peek();
+
+        int size();
+
+        /** Operations the adapter implements besides INSERT, EXTRACT and PEEK */
+        default Set<OpType> extraOperations() {
+            return EnumSet.noneOf(OpType.class);
+        }
+
+        /** True if extracted ids identify the element, so the model removes that exact entry */
+        default boolean reportsIds() {
+            return false;
+        }
+
+        /** True if equal keys must come out in id (insertion) order */
+        default boolean stable() {
+            return false;
+        }
+
+        /** Largest allowed difference between an extracted key and the true minimum */
+        default long keyErrorBound() {
+            return 0;
+        }
+
+        default void insertAll(int[] keys, int[] ids) {
+            throw new UnsupportedOperationException();
+        }
+
+        default boolean decreaseKey(int id, int oldKey, int newKey) {
+            throw new UnsupportedOperationException();
+        }
+
+        default void merge(int[] keys, int[] ids) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        default void close() {
+        }
+    }
+
+    private static final int MAX_SHRINK_RUNS = 5000;
+
+    private final String name;
+    private final IntFunction<HeapAdapter> factory;
+
+    /**
+     * @param name heap name used in failure reports
+     * @param factory creates a fresh adapter; the argument bounds the ids that will be inserted
+     */
+    DifferentialTester(String name, IntFunction<HeapAdapter> factory) {
+        this.name = name;
+        this.factory = factory;
+    }
+
+    static long entry(int key, int id) {
+        return ((long) key << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    static int keyOf(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    static int idOf(long entry) {
+        return (int) entry;
+    }
+
+    static int sequences() {
+        return Integer.getInteger("heap.stress.sequences", 60);
+    }
+
+    static int length() {
+        return Integer.getInteger("heap.stress.length", 300);
+    }
+
+    /**
+     * Runs the configured number of seeded sequences, or only -Dheap.stress.seed if set
+     * @throws AssertionError describing the shrunk failing sequence
+     */
+    void run() {
+        Long fixedSeed = Long.getLong("heap.stress.seed");
+        if (fixedSeed != null) {
+            runSeed(fixedSeed);
+            return;
+        }
+
+        long baseSeed = name.hashCode();
+        for (int i = 0; i < sequences(); i++) {
+            runSeed(baseSeed + i);
+        }
+    }
+
+    private void runSeed(long seed) {
+        Set<OpType> supported;
+        try (HeapAdapter probe = factory.apply(0)) {
+            supported = probe.extraOperations();
+        }
+
+        List<Op> ops = generate(new Random(seed), length(), supported);
+        Throwable failure = execute(ops);
+        if (failure == null) {
+            return;
+        }
+
+        List<Op> shrunk = shrink(ops);
+        Throwable cause = execute(shrunk);
+        throw new AssertionError(name + " failed for seed " + seed +
+                " (rerun with -Dheap.stress.seed=" + seed + ")\n" +
+                "Shrunk from " + ops.size() + " to " + shrunk.size() + " operations: " + shrunk + "\n" +
+                "Failure: " + cause, cause);
+    }
+
+    private static List<Op> generate(Random random, int length, Set<OpType> supported) {
+        // Narrow key ranges make duplicates common, wide ones make them rare
+        int[] ranges = {4, 64, 1 << 20};
+        int keyRange = ranges[random.nextInt(ranges.length)];
+
+        List<Op> ops = new ArrayList<>();
+        for (int i = 0; i < length; i++) {
+            int roll = random.nextInt(100);
+            if (roll < 45) {
+                ops.add(new Op(OpType.INSERT, random.nextInt(keyRange)));
+            } else if (roll < 75) {
+                ops.add(new Op(OpType.EXTRACT));
+            } else if (roll < 82) {
+                ops.add(new Op(OpType.PEEK));
+            } else if (roll < 90 && supported.contains(OpType.DECREASE_KEY)) {
+                ops.add(new Op(OpType.DECREASE_KEY, random.nextInt(1 << 16), random.nextInt(keyRange)));
+            } else if (roll < 95 && supported.contains(OpType.INSERT_ALL)) {
+                ops.add(new Op(OpType.INSERT_ALL, randomKeys(random, keyRange)));
+            } else if (supported.contains(OpType.MERGE)) {
+                ops.add(new Op(OpType.MERGE, randomKeys(random, keyRange)));
+            } else {
+                ops.add(new Op(OpType.INSERT, random.nextInt(keyRange)));
+            }
+        }
+        return ops;
+    }
+
+    private static int[] randomKeys(Random random, int keyRange) {
+        int[] keys = new int[random.nextInt(20)];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(keyRange);
+        }
+        return keys;
+    }
+
+    /**
+     * Replays ops against a fresh adapter and the model
+     * @return the first failure, or null if every result matched
+     */
+    private Throwable execute(List<Op> ops) {
+        int maxIds = 0;
+        for (Op op : ops) {
+            if (op.type == OpType.INSERT || op.type == OpType.INSERT_ALL || op.type == OpType.MERGE) {
+                maxIds += op.args.length; // One key argument per inserted element
+            }
+        }
+
+        try (HeapAdapter heap = factory.apply(maxIds)) {
+            Comparator<long[]> order = heap.stable()
+                    ? Comparator.<long[]>comparingLong(e -> e[0]).thenComparingLong(e -> e[1])
+                    : Comparator.comparingLong(e -> e[0]);
+            PriorityQueue<long[]> model = new PriorityQueue<>(order);
+            int nextId = 0;
+
+            for (int step = 0; step < ops.size(); step++) {
+                Op op = ops.get(step);
+                String where = " at step " + step + " (" + op + ")";
+
+                switch (op.type) {
+                    case INSERT:
+                        heap.insert(op.args[0], nextId);
+                        model.add(new long[] {op.args[0], nextId++});
+                        break;
+                    case INSERT_ALL:
+                    case MERGE:
+                        int[] ids = new int[op.args.length];
+                        for (int i = 0; i < ids.length; i++) {
+                            ids[i] = nextId;
+                            model.add(new long[] {op.args[i], nextId++});
+                        }
+                        if (op.type == OpType.INSERT_ALL) {
+                            heap.insertAll(op.args, ids);
+                        } else {
+                            heap.merge(op.args, ids);
+                        }
+                        break;
+                    case EXTRACT:
+                    case PEEK:
+                        boolean extract = op.type == OpType.EXTRACT;
+                        if (model.isEmpty()) {
+                            try {
+                                long unexpected = extract ? heap.extractMin() : heap.peek();
+                                return new AssertionError("Expected empty heap but got key " +
+                                        keyOf(unexpected) + where);
+                            } catch (NoSuchElementException expected) {
+                                break;
+                            }
+                        }
+                        long actual = extract ? heap.extractMin() : heap.peek();
+                        Throwable mismatch = checkMin(heap, model, actual, extract, where);
+                        if (mismatch != null) {
+                            return mismatch;
+                        }
+                        break;
+                    case DECREASE_KEY:
+                        if (model.isEmpty()) {
+                            break;
+                        }
+                        long[] target = select(model, op.args[0]);
+                        int newKey = (int) Math.min(target[0], op.args[1]);
+                        if (!heap.decreaseKey((int) target[1], (int) target[0], newKey)) {
+                            return new AssertionError("decreaseKey returned false for present key " +
+                                    target[0] + where);
+                        }
+                        model.remove(target);
+                        model.add(new long[] {newKey, target[1]});
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown operation " + op.type);
+                }
+
+                if (heap.size() != model.size()) {
+                    return new AssertionError("Size " + heap.size() + " but model has " + model.size() + where);
+                }
+            }
+            return null;
+        } catch (RuntimeException | AssertionError e) {
+            return e;
+        }
+    }
+
+    private static Throwable checkMin(HeapAdapter heap, PriorityQueue<long[]> model, long actual,
+                                      boolean extract, String where) {
+        long[] expected = model.peek();
+        int key = keyOf(actual);
+
+        if (heap.stable()) {
+            if (key != expected[0] || idOf(actual) != expected[1]) {
+                return new AssertionError("Expected (key " + expected[0] + ", id " + expected[1] +
+                        ") but got (key " + key + ", id " + idOf(actual) + ")" + where);
+            }
+        } else if (key < expected[0] || key - expected[0] > heap.keyErrorBound()) {
+            return new AssertionError("Expected key " + expected[0] + " (error bound " +
+                    heap.keyErrorBound() + ") but got " + key + where);
+        }
+
+        long[] removed = null;
+        for (long[] candidate : model) {
+            if (candidate[0] == key && (!heap.reportsIds() || candidate[1] == idOf(actual))) {
+                removed = candidate;
+                break;
+            }
+        }
+        if (removed == null) {
+            return new AssertionError("Returned element (key " + key + ", id " + idOf(actual) +
+                    ") is not in the heap" + where);
+        }
+        if (extract) {
+            model.remove(removed);
+        }
+        return null;
+    }
+
+    private static long[] select(PriorityQueue<long[]> model, int selector) {
+        // Deterministic for a given sequence, so replays during shrinking pick the same element
+        List<long[]> entries = new ArrayList<>(model);
+        entries.sort(Comparator.<long[]>comparingLong(e -> e[1]));
+        return entries.get(selector % entries.size());
+    }
+
+    private List<Op> shrink(List<Op> ops) {
+        List<Op> current = new ArrayList<>(ops);
+        int[] runs = {0};
+
+        // Repeat until no pass makes progress, since each pass can enable the others
+        boolean progress = true;
+        while (progress && runs[0] < MAX_SHRINK_RUNS) {
+            int before = weight(current);
+            current = removeChunks(current, runs);
+            current = simplifyArguments(current, runs);
+            progress = weight(current) < before;
+        }
+        return current;
+    }
+
+    private List<Op> removeChunks(List<Op> current, int[] runs) {
+        for (int chunk = Math.max(1, current.size() / 2); chunk >= 1; chunk /= 2) {
+            for (int start = 0; start + chunk <= current.size() && runs[0] < MAX_SHRINK_RUNS; ) {
+                List<Op> candidate = new ArrayList<>(current.subList(0, start));
+                candidate.addAll(current.subList(start + chunk, current.size()));
+                if (stillFails(candidate, runs)) {
+                    current = candidate;
+                } else {
+                    start += chunk;
+                }
+            }
+        }
+        return current;
+    }
+
+    private List<Op> simplifyArguments(List<Op> current, int[] runs) {
+        for (int i = 0; i < current.size() && runs[0] < MAX_SHRINK_RUNS; i++) {
+            boolean batch = current.get(i).type == OpType.INSERT_ALL || current.get(i).type == OpType.MERGE;
+
+            // Drop elements of batch operations
+            for (int a = 0; batch && a < current.get(i).args.length && runs[0] < MAX_SHRINK_RUNS; ) {
+                int[] args = current.get(i).args;
+                int[] smaller = new int[args.length - 1];
+                System.arraycopy(args, 0, smaller, 0, a);
+                System.arraycopy(args, a + 1, smaller, a, args.length - a - 1);
+                List<Op> candidate = new ArrayList<>(current);
+                candidate.set(i, new Op(current.get(i).type, smaller));
+                if (stillFails(candidate, runs)) {
+                    current = candidate;
+                } else {
+                    a++;
+                }
+            }
+
+            // Halve argument values toward zero
+            for (int a = 0; a < current.get(i).args.length && runs[0] < MAX_SHRINK_RUNS; a++) {
+                while (current.get(i).args[a] != 0 && runs[0] < MAX_SHRINK_RUNS) {
+                    int[] args = current.get(i).args.clone();
+                    args[a] /= 2;
+                    List<Op> candidate = new ArrayList<>(current);
+                    candidate.set(i, new Op(current.get(i).type, args));
+                    if (!stillFails(candidate, runs)) {
+                        break;
+                    }
+                    current = candidate;
+                }
+            }
+        }
+        return current;
+    }
+
+    private boolean stillFails(List<Op> candidate, int[] runs) {
+        runs[0]++;
+        return execute(candidate) != null;
+    }
+
+    // Size measure used to detect shrinking progress
+    private static int weight(List<Op> ops) {
+        int weight = 0;
+        for (Op op : ops) {
+            weight += 1 + op.args.length;
+            for (int arg : op.args) {
+                weight += arg == 0 ? 0 : 32 - Integer.numberOfLeadingZeros(arg);
+            }
+        }
+        return weight;
+    }
+}
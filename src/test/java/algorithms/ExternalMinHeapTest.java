@@ -0,0 +1,209 @@
+package algorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+
+class ExternalMinHeapTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Test empty heap properties")
+    void testEmptyHeap() {
+        try (ExternalMinHeap<Integer> heap = newHeap(4, 2)) {
+            assertTrue(heap.isEmpty());
+            assertThrows(NoSuchElementException.class, heap::peek);
+            assertThrows(NoSuchElementException.class, heap::extractMin);
+            assertThrows(IllegalArgumentException.class, () -> heap.insert(null));
+        }
+    }
+
+    @Test
+    @DisplayName("Test spilled elements are extracted in sorted order")
+    void testSpillAndMerge() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+
+        try (ExternalMinHeap<Integer> heap = newHeap(100, 64)) {
+            for (int i = 0; i < 5000; i++) {
+                int value = random.nextInt(1000);
+                heap.insert(value);
+                expected.add(value);
+            }
+            assertEquals(5000, heap.size());
+            assertTrue(heap.getSpilledRuns() > 0);
+
+            Collections.sort(expected);
+            for (Integer value : expected) {
+                assertEquals(value, heap.peek());
+                assertEquals(value, heap.extractMin());
+            }
+            assertTrue(heap.isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Test interleaved operations with run compaction")
+    void testInterleavedWithCompaction() {
+        Random random = new Random(7);
+        PriorityQueue<Integer> model = new PriorityQueue<>();
+
+        try (ExternalMinHeap<Integer> heap = newHeap(8, 3)) {
+            for (int i = 0; i < 3000; i++) {
+                if (model.isEmpty() || random.nextInt(3) > 0) {
+                    int value = random.nextInt();
+                    heap.insert(value);
+                    model.add(value);
+                } else {
+                    assertEquals(model.poll(), heap.extractMin());
+                }
+            }
+            while (!model.isEmpty()) {
+                assertEquals(model.poll(), heap.extractMin());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test compaction rewrites each element a logarithmic number of times")
+    void testCompactionWriteVolume() {
+        int n = 16 * 4096;
+        Random random = new Random(3);
+
+        try (ExternalMinHeap<Integer> heap = newHeap(16, 64)) {
+            for (int i = 0; i < n; i++) {
+                heap.insert(random.nextInt());
+            }
+            // 4096 spills into at most 64 runs: merging every run on each
+            // compaction writes the input about 33 times, merging half about 3.5
+            long writesPerElement = heap.getBytesWritten() / ((long) Integer.BYTES * n);
+            assertTrue(writesPerElement <= 5, "Each element written " + writesPerElement + " times");
+
+            int previous = Integer.MIN_VALUE;
+            while (!heap.isEmpty()) {
+                int current = heap.extractMin();
+                assertTrue(previous <= current);
+                previous = current;
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test close removes run files")
+    void testCloseDeletesRuns() throws IOException {
+        ExternalMinHeap<Integer> heap = newHeap(4, 4);
+        for (int i = 100; i > 0; i--) {
+            heap.insert(i);
+        }
+        heap.extractMin();
+        heap.close();
+
+        assertTrue(heap.isEmpty());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Test a failed spill keeps every element and removes the partial run")
+    void testSpillFailure() throws IOException {
+        FailingCodec codec = new FailingCodec();
+        ExternalMinHeap<Integer> heap = new ExternalMinHeap<>(codec, 4, directory, 8, 4);
+        for (int value : new int[] {13, 1, 12, 2}) {
+            heap.insert(value);
+        }
+
+        codec.writesBeforeFailure = 2; // Fails after the first block was flushed
+        assertThrows(IllegalStateException.class, () -> heap.insert(5));
+        assertEquals(4, heap.size());
+        assertEquals(1, heap.peek());
+
+        codec.writesBeforeFailure = -1;
+        heap.insert(5);
+        assertExtractsInOrder(heap, Arrays.asList(1, 2, 5, 12, 13));
+        assertNoRunFilesAfterClose(heap);
+    }
+
+    @Test
+    @DisplayName("Test a failed compaction rewinds the partly merged runs")
+    void testCompactionFailure() throws IOException {
+        FailingCodec codec = new FailingCodec();
+        ExternalMinHeap<Integer> heap = new ExternalMinHeap<>(codec, 2, directory, 8, 2);
+        List<Integer> expected = new ArrayList<>();
+        for (int value : new int[] {8, 1, 6, 3}) {
+            heap.insert(value); // Two runs once the next insert spills
+            expected.add(value);
+        }
+        heap.insert(4);
+        heap.insert(2);
+        expected.add(4);
+        expected.add(2);
+
+        codec.writesBeforeFailure = 3; // Compaction writes 1, 3, 6, then fails
+        assertThrows(IllegalStateException.class, () -> heap.insert(7));
+        assertEquals(6, heap.size());
+
+        codec.writesBeforeFailure = -1;
+        heap.insert(7);
+        expected.add(7);
+        Collections.sort(expected);
+        assertExtractsInOrder(heap, expected);
+        assertNoRunFilesAfterClose(heap);
+    }
+
+    private void assertExtractsInOrder(ExternalMinHeap<Integer> heap, List<Integer> expected) {
+        for (Integer value : expected) {
+            assertEquals(value, heap.extractMin());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    private void assertNoRunFilesAfterClose(ExternalMinHeap<Integer> heap) throws IOException {
+        heap.close();
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    // Integer codec whose writes start failing after a set number of records
+    private static final class FailingCodec implements ExternalMinHeap.Codec<Integer> {
+        private int writesBeforeFailure = -1; // Negative never fails
+
+        @Override
+        public int recordSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(Integer element, ByteBuffer buffer) {
+            if (writesBeforeFailure == 0) {
+                throw new IllegalStateException("Injected write failure");
+            }
+            if (writesBeforeFailure > 0) {
+                writesBeforeFailure--;
+            }
+            buffer.putInt(element);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    }
+
+    private ExternalMinHeap<Integer> newHeap(int bufferCapacity, int maxRuns) {
+        // Small blocks so read-ahead refills are exercised
+        return new ExternalMinHeap<>(ExternalMinHeap.INTEGER_CODEC, bufferCapacity, directory, 64, maxRuns);
+    }
+}
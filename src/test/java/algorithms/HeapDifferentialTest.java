@@ -0,0 +1,457 @@
+package algorithms;
+
+import algorithms.DifferentialTester.HeapAdapter;
+import algorithms.DifferentialTester.OpType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static algorithms.DifferentialTester.entry;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.*;
+
+
+class HeapDifferentialTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Differential: MinHeap<Integer> with duplicates, decreaseKey, insertAll and merge")
+    void testMinHeapIntegers() {
+        new DifferentialTester("MinHeap<Integer>", maxIds -> new HeapAdapter() {
+            private MinHeap<Integer> heap = new MinHeap<>();
+
+            @Override
+            public void insert(int key, int id) {
+                heap.insert(key);
+            }
+
+            @Override
+            public long extractMin() {
+                return entry(heap.extractMin(), 0);
+            }
+
+            @Override
+            public long peek() {
+                return entry(heap.peek(), 0);
+            }
+
+            @Override
+            public int size() {
+                return heap.size();
+            }
+
+            @Override
+            public Set<OpType> extraOperations() {
+                return EnumSet.of(OpType.DECREASE_KEY, OpType.INSERT_ALL, OpType.MERGE);
+            }
+
+            @Override
+            public void insertAll(int[] keys, int[] ids) {
+                List<Integer> batch = new ArrayList<>();
+                for (int key : keys) {
+                    batch.add(key);
+                }
+                heap.insertAll(batch);
+            }
+
+            @Override
+            public boolean decreaseKey(int id, int oldKey, int newKey) {
+                return heap.decreaseKey(oldKey, newKey);
+            }
+
+            @Override
+            public void merge(int[] keys, int[] ids) {
+                MinHeap<Integer> other = new MinHeap<>();
+                for (int key : keys) {
+                    other.insert(key);
+                }
+                heap = heap.merge(other);
+            }
+        }).run();
+    }
+
+    @Test
+    @DisplayName("Differential: MinHeap of distinct objects with equal keys and decreaseKey")
+    void testMinHeapObjects() {
+        new DifferentialTester("MinHeap<Keyed>", maxIds -> new KeyedAdapter(false) {
+            @Override
+            public Set<OpType> extraOperations() {
+                return EnumSet.of(OpType.DECREASE_KEY, OpType.INSERT_ALL);
+            }
+
+            @Override
+            public boolean decreaseKey(int id, int oldKey, int newKey) {
+                Keyed replacement = new Keyed(newKey, id);
+                boolean decreased = heap.decreaseKey(elements.get(id), replacement);
+                elements.put(id, replacement);
+                return decreased;
+            }
+        }).run();
+    }
+
+    @Test
+    @DisplayName("Differential: stable MinHeap keeps FIFO order on ties through insertAll and merge")
+    void testStableMinHeap() {
+        new DifferentialTester("MinHeap<Keyed>(stable)", maxIds -> new KeyedAdapter(true) {
+            @Override
+            public Set<OpType> extraOperations() {
+                return EnumSet.of(OpType.INSERT_ALL, OpType.MERGE);
+            }
+
+            @Override
+            public void merge(int[] keys, int[] ids) {
+                MinHeap<Keyed> other = new MinHeap<>(true);
+                for (int i = 0; i < keys.length; i++) {
+                    other.insert(new Keyed(keys[i], ids[i]));
+                }
+                heap = heap.merge(other);
+            }
+        }).run();
+    }
+
+    @Test
+    @DisplayName("Differential: StableIntMinHeap")
+    void testStableIntMinHeap() {
+        new DifferentialTester("StableIntMinHeap", maxIds -> new HeapAdapter() {
+            private final StableIntMinHeap heap = new StableIntMinHeap(1);
+
+            @Override
+            public void insert(int key, int id) {
+                heap.insert(key, id);
+            }
+
+            @Override
+            public long extractMin() {
+                long min = peek();
+                heap.extractMin();
+                return min;
+            }
+
+            @Override
+            public long peek() {
+                return entry(heap.peekPriority(), heap.peek());
+            }
+
+            @Override
+            public int size() {
+                return heap.size();
+            }
+
+            @Override
+            public boolean reportsIds() {
+                return true;
+            }
+
+            @Override
+            public boolean stable() {
+                return true;
+            }
+        }).run();
+    }
+
+    @Test
+    @DisplayName("Differential: IndexedLongMinHeap with decreaseKey by item")
+    void testIndexedLongMinHeap() {
+        new DifferentialTester("IndexedLongMinHeap", maxIds -> new HeapAdapter() {
+            private final IndexedLongMinHeap heap = new IndexedLongMinHeap(maxIds);
+
+            @Override
+            public void insert(int key, int id) {
+                heap.insert(id, key);
+            }
+
+            @Override
+            public long extractMin() {
+                long min = peek();
+                heap.extractMin();
+                return min;
+            }
+
+            @Override
+            public long peek() {
+                return entry((int) heap.peekKey(), heap.peek());
+            }
+
+            @Override
+            public int size() {
+                return heap.size();
+            }
+
+            @Override
+            public Set<OpType> extraOperations() {
+                return EnumSet.of(OpType.DECREASE_KEY);
+            }
+
+            @Override
+            public boolean reportsIds() {
+                return true;
+            }
+
+            @Override
+            public boolean decreaseKey(int id, int oldKey, int newKey) {
+                return heap.decreaseKey(id, newKey);
+            }
+        }).run();
+    }
+
+    @Test
+    @DisplayName("Differential: LongIntMinHeap")
+    void testLongIntMinHeap() {
+        new DifferentialTester("LongIntMinHeap", maxIds -> new HeapAdapter() {
+            private final LongIntMinHeap heap = new LongIntMinHeap(1);
+
+            @Override
+            public void insert(int key, int id) {
+                heap.insert(key, id);
+            }
+
+            @Override
+            public long extractMin() {
+                long min = peek();
+                heap.extractMin();
+                return min;
+            }
+
+            @Override
+            public long peek() {
+                return entry((int) heap.peekKey(), heap.peek());
+            }
+
+            @Override
+            public int size() {
+                return heap.size();
+            }
+
+            @Override
+            public boolean reportsIds() {
+                return true;
+            }
+        }).run();
+    }
+
+    @Test
+    @DisplayName("Differential: ApproximateMinHeap stays within its key error bound")
+    void testApproximateMinHeap() {
+        new DifferentialTester("ApproximateMinHeap", maxIds -> new HeapAdapter() {
+            private final ApproximateMinHeap<Integer> heap = new ApproximateMinHeap<>(3, 1);
+
+            @Override
+            public void insert(int key, int id) {
+                heap.insert(key, id);
+            }
+
+            @Override
+            public long extractMin() {
+                long min = peek();
+                heap.extractMin();
+                return min;
+            }
+
+            @Override
+            public long peek() {
+                return entry(heap.peekKey(), heap.peek());
+            }
+
+            @Override
+            public int size() {
+                return heap.size();
+            }
+
+            @Override
+            public boolean reportsIds() {
+                return true;
+            }
+
+            @Override
+            public long keyErrorBound() {
+                return heap.getKeyErrorBound();
+            }
+        }).run();
+    }
+
+    @Test
+    @DisplayName("Differential: ExternalMinHeap with tiny buffer, blocks and run limit")
+    void testExternalMinHeap() {
+        new DifferentialTester("ExternalMinHeap", maxIds -> new HeapAdapter() {
+            // Buffer grows with the sequence so stress runs still spill often
+            // without compacting on every fourth insert
+            private final ExternalMinHeap<Integer> heap = new ExternalMinHeap<>(
+                    ExternalMinHeap.INTEGER_CODEC, Math.max(4, maxIds / 64), directory, 8, 3);
+
+            @Override
+            public void insert(int key, int id) {
+                heap.insert(key);
+            }
+
+            @Override
+            public long extractMin() {
+                return entry(heap.extractMin(), 0);
+            }
+
+            @Override
+            public long peek() {
+                return entry(heap.peek(), 0);
+            }
+
+            @Override
+            public int size() {
+                return (int) heap.size();
+            }
+
+            @Override
+            public void close() {
+                heap.close();
+            }
+        }).run();
+    }
+
+    @Test
+    @DisplayName("Differential: BatchingHeapQueue used from one thread")
+    void testBatchingHeapQueue() {
+        new DifferentialTester("BatchingHeapQueue", maxIds -> new HeapAdapter() {
+            private final BatchingHeapQueue<Integer> queue = new BatchingHeapQueue<>(2);
+
+            @Override
+            public void insert(int key, int id) {
+                queue.insert(key);
+            }
+
+            @Override
+            public long extractMin() {
+                Integer min = queue.poll();
+                if (min == null) {
+                    throw new NoSuchElementException("Queue is empty");
+                }
+                return entry(min, 0);
+            }
+
+            @Override
+            public long peek() {
+                long min = extractMin();
+                queue.insert(DifferentialTester.keyOf(min));
+                return min;
+            }
+
+            @Override
+            public int size() {
+                return queue.size();
+            }
+        }).run();
+    }
+
+    @Test
+    @DisplayName("Harness detects and shrinks a broken heap")
+    void testHarnessShrinksFailures() {
+        // Drops an element whenever its key is already present
+        AssertionError error = assertThrows(AssertionError.class, () ->
+                new DifferentialTester("BrokenHeap", maxIds -> new HeapAdapter() {
+                    private final TreeSet<Integer> keys = new TreeSet<>();
+
+                    @Override
+                    public void insert(int key, int id) {
+                        keys.add(key);
+                    }
+
+                    @Override
+                    public long extractMin() {
+                        int min = keys.first();
+                        keys.remove(min);
+                        return entry(min, 0);
+                    }
+
+                    @Override
+                    public long peek() {
+                        return entry(keys.first(), 0);
+                    }
+
+                    @Override
+                    public int size() {
+                        return keys.size();
+                    }
+                }).run());
+
+        assertTrue(error.getMessage().contains("-Dheap.stress.seed="));
+        // Two equal inserts are the smallest failing sequence
+        assertTrue(error.getMessage().contains("to 2 operations"), error.getMessage());
+    }
+
+    // Comparable by key only, so equal keys are distinct elements
+    static final class Keyed implements Comparable<Keyed> {
+        final int key;
+        final int id;
+
+        Keyed(int key, int id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Keyed other) {
+            return Integer.compare(key, other.key);
+        }
+
+        @Override
+        public String toString() {
+            return key + "#" + id;
+        }
+    }
+
+    private static class KeyedAdapter implements HeapAdapter {
+        protected MinHeap<Keyed> heap;
+        protected final Map<Integer, Keyed> elements = new HashMap<>();
+        private final boolean stable;
+
+        KeyedAdapter(boolean stable) {
+            this.heap = new MinHeap<>(stable);
+            this.stable = stable;
+        }
+
+        @Override
+        public void insert(int key, int id) {
+            Keyed element = new Keyed(key, id);
+            elements.put(id, element);
+            heap.insert(element);
+        }
+
+        @Override
+        public void insertAll(int[] keys, int[] ids) {
+            List<Keyed> batch = new ArrayList<>();
+            for (int i = 0; i < keys.length; i++) {
+                Keyed element = new Keyed(keys[i], ids[i]);
+                elements.put(ids[i], element);
+                batch.add(element);
+            }
+            heap.insertAll(batch);
+        }
+
+        @Override
+        public long extractMin() {
+            Keyed min = heap.extractMin();
+            return entry(min.key, min.id);
+        }
+
+        @Override
+        public long peek() {
+            Keyed min = heap.peek();
+            return entry(min.key, min.id);
+        }
+
+        @Override
+        public int size() {
+            return heap.size();
+        }
+
+        @Override
+        public boolean reportsIds() {
+            return true;
+        }
+
+        @Override
+        public boolean stable() {
+            return stable;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package algorithms;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+
+class IndexedLongMinHeapTest {
+
+    private IndexedLongMinHeap heap;
+
+    @BeforeEach
+    void setUp() {
+        heap = new IndexedLongMinHeap(10);
+    }
+
+    @Test
+    @DisplayName("Test empty heap properties")
+    void testEmptyHeap() {
+        assertTrue(heap.isEmpty());
+        assertThrows(NoSuchElementException.class, () -> heap.peek());
+        assertThrows(NoSuchElementException.class, () -> heap.extractMin());
+        assertThrows(NoSuchElementException.class, () -> heap.keyOf(3));
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(10, 1));
+    }
+
+    @Test
+    @DisplayName("Test decreaseKey with tied keys targets the right item")
+    void testDecreaseKeyWithTies() {
+        for (int item = 0; item < 10; item++) {
+            heap.insert(item, 100);
+        }
+
+        assertTrue(heap.decreaseKey(7, 5));
+        assertTrue(heap.decreaseKey(3, 5));
+        assertEquals(5, heap.keyOf(7));
+        assertEquals(100, heap.keyOf(4));
+
+        Set<Integer> first = new HashSet<>(Arrays.asList(heap.extractMin(), heap.extractMin()));
+        assertEquals(new HashSet<>(Arrays.asList(3, 7)), first);
+        assertFalse(heap.contains(7));
+        assertFalse(heap.decreaseKey(7, 1));
+        assertEquals(8, heap.size());
+    }
+
+    @Test
+    @DisplayName("Test decreaseKey rejects larger keys and duplicate inserts")
+    void testInvalidOperations() {
+        heap.insert(1, 10);
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(1, 11));
+        assertThrows(IllegalArgumentException.class, () -> heap.insert(1, 5));
+    }
+}
@@ -0,0 +1,132 @@
+package algorithms;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+
+
+/**
+ * Checks a multi-producer, single-consumer priority queue for linearizability.
+ * Producers insert unique elements while one consumer takes them, and every
+ * call is timestamped. The history is linearizable only if no take returns
+ * an element with a larger key than some element whose insert had already
+ * returned before the take started and that was not yet taken, and only if
+ * every element is taken exactly once and never before its insert started.
+ */
+final class LinearizabilityChecker {
+
+    /**
+     * Queue under test; elements are entry(key, id) values with unique ids
+     */
+    interface ConcurrentHeapAdapter {
+        void insert(long element);
+
+        long take() throws InterruptedException;
+    }
+
+    private LinearizabilityChecker() {
+    }
+
+    /**
+     * Runs one concurrent history and checks it
+     * @param queue fresh queue
+     * @param producers number of producer threads
+     * @param perProducer inserts per producer
+     * @param keyRange keys are drawn from 0..keyRange-1; small ranges create ties
+     * @param seed random seed for keys
+     * @throws AssertionError if the history is not linearizable
+     */
+    static void check(ConcurrentHeapAdapter queue, int producers, int perProducer, int keyRange, long seed)
+            throws InterruptedException {
+        int total = producers * perProducer;
+        long[] elements = new long[total];
+        long[] insertStart = new long[total];
+        long[] insertEnd = new long[total];
+
+        Random random = new Random(seed);
+        for (int id = 0; id < total; id++) {
+            elements[id] = DifferentialTester.entry(random.nextInt(keyRange), id);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int first = p * perProducer;
+            threads[p] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int id = first; id < first + perProducer; id++) {
+                    insertStart[id] = System.nanoTime();
+                    queue.insert(elements[id]);
+                    insertEnd[id] = System.nanoTime();
+                }
+            });
+            threads[p].start();
+        }
+
+        long[] taken = new long[total];
+        long[] takeStart = new long[total];
+        long[] takeEnd = new long[total];
+        start.countDown();
+        for (int i = 0; i < total; i++) {
+            takeStart[i] = System.nanoTime();
+            taken[i] = queue.take();
+            takeEnd[i] = System.nanoTime();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        verify(elements, insertStart, insertEnd, taken, takeStart, takeEnd);
+    }
+
+    /**
+     * Checks a recorded history; ids index the insert arrays, takes are in consumer order
+     * @throws AssertionError if the history is not linearizable
+     */
+    static void verify(long[] elements, long[] insertStart, long[] insertEnd,
+                               long[] taken, long[] takeStart, long[] takeEnd) {
+        int total = elements.length;
+        Integer[] byInsertEnd = new Integer[total];
+        for (int id = 0; id < total; id++) {
+            byInsertEnd[id] = id;
+        }
+        Arrays.sort(byInsertEnd, Comparator.comparingLong(id -> insertEnd[id]));
+
+        // Elements certainly in the queue at the current take: inserted before it began, not yet taken
+        TreeSet<Long> present = new TreeSet<>();
+        boolean[] removed = new boolean[total];
+        int next = 0;
+
+        for (int i = 0; i < total; i++) {
+            while (next < total && insertEnd[byInsertEnd[next]] < takeStart[i]) {
+                int id = byInsertEnd[next++];
+                if (!removed[id]) {
+                    present.add(elements[id]);
+                }
+            }
+
+            long element = taken[i];
+            int id = DifferentialTester.idOf(element);
+            if (id < 0 || id >= total || elements[id] != element) {
+                throw new AssertionError("Take " + i + " returned an element that was never inserted: " + element);
+            }
+            if (removed[id]) {
+                throw new AssertionError("Take " + i + " returned id " + id + " twice");
+            }
+            if (insertStart[id] > takeEnd[i]) {
+                throw new AssertionError("Take " + i + " returned id " + id + " before its insert began");
+            }
+            if (!present.isEmpty() && DifferentialTester.keyOf(present.first()) < DifferentialTester.keyOf(element)) {
+                throw new AssertionError("Take " + i + " returned key " + DifferentialTester.keyOf(element) +
+                        " while key " + DifferentialTester.keyOf(present.first()) + " was already inserted");
+            }
+
+            removed[id] = true;
+            present.remove(element);
+        }
+    }
+}
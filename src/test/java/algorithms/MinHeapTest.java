@@ -257,6 +257,156 @@ class MinHeapTest {
         assertTrue(str.contains("size=3"));
     }
 
+    @Test
+    @DisplayName("Test stable mode extracts equal elements in FIFO order")
+    void testStableFifoOnTies() {
+        MinHeap<Task> stableHeap = new MinHeap<>(true);
+        Random random = new Random(42);
+
+        List<Task> inserted = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Task task = new Task(random.nextInt(10), i);
+            inserted.add(task);
+            stableHeap.insert(task);
+            if (i % 3 == 0) {
+                inserted.remove(stableHeap.extractMin());
+            }
+        }
+
+        Task previous = null;
+        while (!stableHeap.isEmpty()) {
+            Task current = stableHeap.extractMin();
+            if (previous != null) {
+                assertTrue(previous.priority < current.priority ||
+                        (previous.priority == current.priority && previous.id < current.id));
+            }
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("Test stable mode grows and counts resizes like the unstable heap")
+    void testStableCapacityMatchesUnstable() {
+        MinHeap<Integer> stableHeap = new MinHeap<>(true);
+        MinHeap<Integer> plain = new MinHeap<>();
+        for (int i = 1000; i > 0; i--) {
+            stableHeap.insert(i % 10);
+            plain.insert(i % 10);
+        }
+        stableHeap.insertAll(Collections.nCopies(2000, 3));
+        plain.insertAll(Collections.nCopies(2000, 3));
+
+        assertEquals(plain.getCapacity(), stableHeap.getCapacity());
+        assertEquals(plain.getPerformanceTracker().getResizes(),
+                stableHeap.getPerformanceTracker().getResizes());
+        assertEquals(plain.drainSorted(), stableHeap.drainSorted());
+    }
+
+    @Test
+    @DisplayName("Test stable merge keeps this heap's equal elements first")
+    void testStableMerge() {
+        MinHeap<Task> heap1 = new MinHeap<>(true);
+        MinHeap<Task> heap2 = new MinHeap<>(true);
+        heap2.insert(new Task(1, 10));
+        heap2.insert(new Task(1, 11));
+        heap1.insert(new Task(1, 0));
+        heap1.insert(new Task(1, 1));
+
+        MinHeap<Task> merged = heap1.merge(heap2);
+
+        assertTrue(merged.isStable());
+        assertEquals(0, merged.extractMin().id);
+        assertEquals(1, merged.extractMin().id);
+        assertEquals(10, merged.extractMin().id);
+        assertEquals(11, merged.extractMin().id);
+    }
+
+    @Test
+    @DisplayName("Test unindexed heap orders elements but rejects decreaseKey")
+    void testUnindexedHeap() {
+        MinHeap<Integer> unindexed = new MinHeap<>(false, false);
+        unindexed.insertAll(Arrays.asList(5, 3, 5, 1));
+        unindexed.insert(4);
+
+        assertThrows(UnsupportedOperationException.class, () -> unindexed.decreaseKey(5, 2));
+
+        MinHeap<Integer> merged = unindexed.merge(new MinHeap<>());
+        assertTrue(merged.toString().contains("unindexed"));
+        assertEquals(Arrays.asList(1, 3, 4, 5, 5), merged.drainSorted());
+        assertEquals(1, unindexed.extractMin());
+        assertEquals(3, unindexed.extractMin());
+    }
+
+    @Test
+    @DisplayName("Test decreaseKey on a duplicated value does not scan the heap")
+    void testDecreaseKeyDuplicatesLargeHeap() {
+        MinHeap<Counted> large = new MinHeap<>();
+        PriorityQueue<Integer> model = new PriorityQueue<>();
+        for (int i = 0; i < 100_000; i++) {
+            large.insert(new Counted(1_000_000 + i));
+            model.add(1_000_000 + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            large.insert(new Counted(2_000_000)); // Many copies of one value
+            model.add(2_000_000);
+        }
+
+        Counted.equalsCalls = 0;
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(large.decreaseKey(new Counted(2_000_000), new Counted(i)));
+            model.remove(2_000_000);
+            model.add(i);
+        }
+        // A hash lookup per call, not a linear search over 100k elements
+        assertTrue(Counted.equalsCalls < 10_000, "equals called " + Counted.equalsCalls + " times");
+
+        while (!model.isEmpty()) {
+            assertEquals((int) model.poll(), large.extractMin().value);
+        }
+    }
+
+    // Counts equals calls, to observe how decreaseKey locates an element
+    private static final class Counted implements Comparable<Counted> {
+        private static long equalsCalls;
+        private final int value;
+
+        Counted(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(Counted other) {
+            return Integer.compare(value, other.value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            equalsCalls++;
+            return other instanceof Counted && ((Counted) other).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value;
+        }
+    }
+
+    // Element whose ordering ignores its identity, to observe tie-breaking
+    private static final class Task implements Comparable<Task> {
+        private final int priority;
+        private final int id;
+
+        Task(int priority, int id) {
+            this.priority = priority;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            return Integer.compare(priority, other.priority);
+        }
+    }
+
     // Helper method to verify heap property
     private boolean verifyHeapProperty(MinHeap<Integer> h) {
         // This is a simplified check - in real implementation,
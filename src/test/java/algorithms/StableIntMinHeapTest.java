@@ -0,0 +1,90 @@
+package algorithms;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+
+class StableIntMinHeapTest {
+
+    private StableIntMinHeap heap;
+
+    @BeforeEach
+    void setUp() {
+        heap = new StableIntMinHeap(2);
+    }
+
+    @Test
+    @DisplayName("Test empty heap properties")
+    void testEmptyHeap() {
+        assertTrue(heap.isEmpty());
+        assertThrows(NoSuchElementException.class, () -> heap.peek());
+        assertThrows(NoSuchElementException.class, () -> heap.peekPriority());
+        assertThrows(NoSuchElementException.class, () -> heap.extractMin());
+    }
+
+    @Test
+    @DisplayName("Test negative and extreme priorities keep order")
+    void testSignedPriorities() {
+        heap.insert(Integer.MAX_VALUE, 0);
+        heap.insert(-5, 1);
+        heap.insert(Integer.MIN_VALUE, 2);
+        heap.insert(0, 3);
+
+        assertEquals(Integer.MIN_VALUE, heap.peekPriority());
+        assertEquals(2, heap.extractMin());
+        assertEquals(1, heap.extractMin());
+        assertEquals(3, heap.extractMin());
+        assertEquals(0, heap.extractMin());
+    }
+
+    @Test
+    @DisplayName("Test FIFO order among equal priorities")
+    void testFifoOnTies() {
+        Random random = new Random(42);
+        int[] priorities = new int[10000];
+        for (int i = 0; i < priorities.length; i++) {
+            priorities[i] = random.nextInt(100);
+            heap.insert(priorities[i], i);
+        }
+
+        int previous = heap.extractMin();
+        while (!heap.isEmpty()) {
+            int current = heap.extractMin();
+            assertTrue(priorities[previous] < priorities[current] ||
+                    (priorities[previous] == priorities[current] && previous < current));
+            previous = current;
+        }
+    }
+
+    @Test
+    @DisplayName("Test FIFO order on ties survives sequence renumbering")
+    void testRenumberKeepsFifoOrder() {
+        // Renumbers every few dozen inserts while older entries are still in the heap
+        StableIntMinHeap small = new StableIntMinHeap(2, 64);
+        Random random = new Random(7);
+        int[] priorities = new int[2000];
+        TreeSet<Integer> expected = new TreeSet<>(Comparator.<Integer>comparingInt(h -> priorities[h])
+                .thenComparingInt(h -> h));
+
+        for (int handle = 0; handle < priorities.length; handle++) {
+            priorities[handle] = random.nextInt(4);
+            small.insert(priorities[handle], handle);
+            expected.add(handle);
+
+            if (expected.size() > 32 || random.nextBoolean()) {
+                int first = expected.pollFirst();
+                assertEquals(priorities[first], small.peekPriority());
+                assertEquals(first, small.extractMin());
+            }
+        }
+
+        while (!expected.isEmpty()) {
+            assertEquals((int) expected.pollFirst(), small.extractMin());
+        }
+        assertTrue(small.isEmpty());
+    }
+}
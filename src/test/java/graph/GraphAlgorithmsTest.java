@@ -0,0 +1,143 @@
+package graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+
+class GraphAlgorithmsTest {
+
+    @Test
+    @DisplayName("Test CSR construction from edge list")
+    void testCsrConstruction() {
+        CsrGraph graph = CsrGraph.fromEdges(3, new int[] {0, 1}, new int[] {1, 2}, new int[] {5, 7}, true);
+
+        assertEquals(3, graph.vertexCount());
+        assertEquals(4, graph.arcCount());
+        assertEquals(1, graph.degree(0));
+        assertEquals(2, graph.degree(1));
+        assertEquals(1, graph.target(graph.arcStart(0)));
+        assertEquals(5, graph.weight(graph.arcStart(0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> CsrGraph.fromEdges(2, new int[] {0}, new int[] {1}, new int[] {-1}, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> CsrGraph.fromEdges(2, new int[] {0}, new int[] {2}, new int[] {1}, false));
+    }
+
+    @ParameterizedTest
+    @EnumSource(QueueStrategy.class)
+    @DisplayName("Test Dijkstra on a small graph with tied distances")
+    void testDijkstraTies(QueueStrategy strategy) {
+        // Two equal-length paths to vertex 3, and an unreachable vertex 4
+        CsrGraph graph = CsrGraph.fromEdges(5,
+                new int[] {0, 0, 1, 2, 0},
+                new int[] {1, 2, 3, 3, 3},
+                new int[] {2, 2, 2, 2, 9}, false);
+
+        ShortestPaths.Result result = ShortestPaths.dijkstra(graph, 0, strategy);
+
+        assertEquals(0, result.distance(0));
+        assertEquals(2, result.distance(1));
+        assertEquals(2, result.distance(2));
+        assertEquals(4, result.distance(3));
+        assertEquals(ShortestPaths.UNREACHABLE, result.distance(4));
+        assertEquals(-1, result.parent(4));
+    }
+
+    @Test
+    @DisplayName("Test strategies agree with Bellman-Ford on random graphs")
+    void testDijkstraMatchesBellmanFord() {
+        for (long seed = 0; seed < 5; seed++) {
+            CsrGraph graph = GraphGenerator.random(200, 800, 10, seed);
+            long[] expected = bellmanFord(graph, 0);
+
+            for (QueueStrategy strategy : QueueStrategy.values()) {
+                ShortestPaths.Result result = ShortestPaths.dijkstra(graph, 0, strategy);
+                for (int v = 0; v < graph.vertexCount(); v++) {
+                    assertEquals(expected[v], result.distance(v), "seed " + seed + ", vertex " + v);
+                    if (v != 0) {
+                        assertTrue(result.distance(result.parent(v)) < result.distance(v));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test Prim strategies agree with Kruskal on random and grid graphs")
+    void testPrimMatchesKruskal() {
+        List<CsrGraph> graphs = Arrays.asList(
+                GraphGenerator.random(300, 1200, 5, 1),
+                GraphGenerator.grid(15, 20, 5, 2),
+                CsrGraph.fromEdges(4, new int[] {0, 2}, new int[] {1, 3}, new int[] {3, 4}, true));
+
+        for (CsrGraph graph : graphs) {
+            long expected = kruskal(graph);
+            for (QueueStrategy strategy : QueueStrategy.values()) {
+                assertEquals(expected, SpanningTree.prim(graph, strategy).totalWeight());
+            }
+        }
+    }
+
+    private static long[] bellmanFord(CsrGraph graph, int source) {
+        long[] distances = new long[graph.vertexCount()];
+        Arrays.fill(distances, ShortestPaths.UNREACHABLE);
+        distances[source] = 0;
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int v = 0; v < graph.vertexCount(); v++) {
+                if (distances[v] == ShortestPaths.UNREACHABLE) {
+                    continue;
+                }
+                for (int arc = graph.arcStart(v); arc < graph.arcEnd(v); arc++) {
+                    long candidate = distances[v] + graph.weight(arc);
+                    if (candidate < distances[graph.target(arc)]) {
+                        distances[graph.target(arc)] = candidate;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return distances;
+    }
+
+    private static long kruskal(CsrGraph graph) {
+        List<int[]> edges = new ArrayList<>();
+        for (int v = 0; v < graph.vertexCount(); v++) {
+            for (int arc = graph.arcStart(v); arc < graph.arcEnd(v); arc++) {
+                edges.add(new int[] {v, graph.target(arc), graph.weight(arc)});
+            }
+        }
+        edges.sort(Comparator.comparingInt(edge -> edge[2]));
+
+        int[] parent = new int[graph.vertexCount()];
+        for (int v = 0; v < parent.length; v++) {
+            parent[v] = v;
+        }
+
+        long total = 0;
+        for (int[] edge : edges) {
+            int a = find(parent, edge[0]);
+            int b = find(parent, edge[1]);
+            if (a != b) {
+                parent[a] = b;
+                total += edge[2];
+            }
+        }
+        return total;
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+}
@@ -0,0 +1,109 @@
+package metrics;
+
+import algorithms.MinHeap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import javax.management.MBeanServer;
+
+
+class HeapMetricsTest {
+
+    @Test
+    @DisplayName("Test operation counters, sift depth and resizes")
+    void testOperationCounters() {
+        MinHeap<Integer> heap = new MinHeap<>();
+        PerformanceTracker tracker = heap.getPerformanceTracker();
+
+        for (int i = 100; i > 0; i--) {
+            heap.insert(i);
+        }
+        heap.extractMin();
+        heap.decreaseKey(50, 0);
+
+        assertEquals(100, tracker.getOperationCount(PerformanceTracker.Operation.INSERT));
+        assertEquals(1, tracker.getOperationCount(PerformanceTracker.Operation.EXTRACT_MIN));
+        assertEquals(1, tracker.getOperationCount(PerformanceTracker.Operation.DECREASE_KEY));
+        assertTrue(tracker.getAverageSiftDepth() > 0);
+        assertTrue(tracker.getResizes() > 0);
+        assertTrue(heap.getCapacity() >= heap.size());
+    }
+
+    @Test
+    @DisplayName("Test bulk insert and drain count every element")
+    void testBulkOperationCounters() {
+        MinHeap<Integer> heap = new MinHeap<>();
+        PerformanceTracker tracker = heap.getPerformanceTracker();
+
+        List<Integer> batch = new ArrayList<>();
+        for (int i = 100; i > 0; i--) {
+            batch.add(i);
+        }
+        heap.insertAll(batch);               // Rebuilds the heap
+        heap.insertAll(Arrays.asList(7, 3)); // Sifts each element up
+
+        assertEquals(102, tracker.getOperationCount(PerformanceTracker.Operation.INSERT));
+        assertTrue(tracker.getTotalSiftDepth() > 0);
+
+        heap.drainSorted();
+        assertEquals(102, tracker.getOperationCount(PerformanceTracker.Operation.EXTRACT_MIN));
+    }
+
+    @Test
+    @DisplayName("Test disabled tracker records nothing")
+    void testDisabledTracker() {
+        MinHeap<Integer> heap = new MinHeap<>();
+        PerformanceTracker tracker = heap.getPerformanceTracker();
+        tracker.setEnabled(false);
+
+        for (int i = 100; i > 0; i--) {
+            heap.insert(i);
+        }
+        heap.extractMin();
+
+        assertEquals(0, tracker.getComparisons());
+        assertEquals(0, tracker.getSwaps());
+        assertEquals(0, tracker.getTotalOperations());
+        assertEquals(0, tracker.getResizes());
+    }
+
+    @Test
+    @DisplayName("Test slow operations are counted above threshold")
+    void testSlowOperations() {
+        MinHeap<Integer> heap = new MinHeap<>();
+        heap.getPerformanceTracker().setSlowOperationThresholdNanos(0);
+
+        heap.insert(1);
+        heap.insert(2);
+
+        assertEquals(2, heap.getPerformanceTracker().getSlowOperations());
+    }
+
+    @Test
+    @DisplayName("Test MBean registration and snapshot rates")
+    void testMBeanSnapshots() throws Exception {
+        MinHeap<Integer> heap = new MinHeap<>();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        try (HeapMetrics metrics = new HeapMetrics("test-heap", heap.getPerformanceTracker(),
+                heap::size, heap::getCapacity).register()) {
+            for (int i = 0; i < 1000; i++) {
+                heap.insert(i);
+            }
+            Thread.sleep(5);
+            metrics.sample();
+
+            assertEquals(1000, metrics.getSize());
+            assertEquals(1000L, server.getAttribute(metrics.getObjectName(), "InsertCount"));
+            assertTrue(metrics.getInsertsPerSecond() > 0);
+            assertEquals(0.0, metrics.getExtractMinsPerSecond());
+            assertTrue(metrics.getCapacity() >= 1000);
+        }
+
+        assertFalse(server.queryNames(null, null).stream()
+                .anyMatch(name -> name.toString().contains("test-heap")));
+    }
+}